@@ -0,0 +1,93 @@
+package org.example.expert.benchmark;
+
+import org.example.expert.ExpertApplication;
+import org.example.expert.domain.user.entity.User;
+import org.example.expert.domain.user.enums.UserRole;
+import org.example.expert.domain.user.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/*
+H2 인메모리 DB 로 애플리케이션 컨텍스트를 띄우는 벤치마크 공용 하네스.
+외부 네트워크나 MySQL 없이 ./gradlew jmh 만으로 돌 수 있게 한다.
+ */
+public final class BenchmarkApplication {
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName) {
+        return start(databaseName, Map.of());
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, Map<String, Object> extraProperties) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("server.port", "0");
+        properties.put("jwt.secret.key", BenchmarkFixtures.JWT_SECRET_KEY);
+        // 검색 색인은 파일 없이 메모리에만
+        properties.put("todo.search.index.dir", "");
+        properties.putAll(extraProperties);
+
+        return new SpringApplicationBuilder(ExpertApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    public static User saveUser(ConfigurableApplicationContext context, String email) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        return userRepository.save(new User(email, "password", "bench", UserRole.USER));
+    }
+
+    // JPA 를 거치지 않고 JDBC batch 로 todo 를 넣는다. modifiedAt 은 1초씩 다르게 해서 정렬 순서를 고정한다.
+    public static void seedTodos(ConfigurableApplicationContext context, Long userId, int rows) {
+        seedTodos(context, userId, rows, i -> "contents " + i);
+    }
+
+    public static void seedTodos(ConfigurableApplicationContext context, Long userId, int rows, IntFunction<String> contents) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Timestamp timestamp = Timestamp.valueOf(base.plusSeconds(i));
+            batch.add(new Object[]{"title" + i, contents.apply(i), i % 2 == 0 ? "Sunny" : "Rainy", userId, timestamp, timestamp});
+            if (batch.size() == SEED_BATCH_SIZE) {
+                insertTodos(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertTodos(jdbcTemplate, batch);
+        }
+
+        // JDBC 로 직접 넣었으므로 유저별 카운터도 맞춰둔다.
+        jdbcTemplate.update("MERGE INTO todo_counts (user_id, todo_count) KEY (user_id) "
+                + "SELECT user_id, COUNT(*) FROM todos WHERE user_id = ? GROUP BY user_id", userId);
+    }
+
+    // todos.id 는 컬럼 기본값이 없는 시퀀스라 직접 받는다. (Hibernate 가 50개씩 받는 블록과 겹치지 않는다)
+    // NOT NULL 컬럼을 추가하면 여기도 같이 채워야 한다.
+    private static void insertTodos(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO todos (id, title, contents, weather, user_id, created_at, modified_at, managers_version) "
+                        + "VALUES (NEXT VALUE FOR todos_seq, ?, ?, ?, ?, ?, ?, 0)",
+                batch);
+    }
+}
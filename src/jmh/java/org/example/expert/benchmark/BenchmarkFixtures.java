@@ -0,0 +1,55 @@
+package org.example.expert.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.config.JwtClaimsCache;
+import org.example.expert.config.JwtUtil;
+import org.example.expert.config.PasswordEncoder;
+import org.example.expert.config.PasswordHashExecutor;
+
+import java.lang.reflect.Field;
+
+/*
+벤치마크용 객체 생성. 스프링 컨텍스트 없이 직접 만든다.
+ */
+public final class BenchmarkFixtures {
+
+    // 벤치마크 전용 키 (운영 키 아님)
+    public static final String JWT_SECRET_KEY = "am1oLWJlbmNobWFyay1zZWNyZXQta2V5LTAxMjM0NTY3ODlhYmNkZWY=";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtUtil jwtUtil(boolean claimsCacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil(new JwtClaimsCache(new SimpleMeterRegistry(), claimsCacheEnabled, 10_000));
+        setField(jwtUtil, "secretKey", JWT_SECRET_KEY);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    // 해시 풀은 코어 수만큼. 벤치마크 스레드 하나로는 큐가 찰 일이 없다.
+    public static PasswordEncoder passwordEncoder(int cost) {
+        return new PasswordEncoder(new PasswordHashExecutor(new SimpleMeterRegistry(), 0, 64), cost, 0);
+    }
+
+    // 리플렉션을 활용한 필드 강제 설정
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = findField(target.getClass(), name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(name + " 설정 실패", e);
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) throws NoSuchFieldException {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException ignored) {
+                // 상위 클래스에서 다시 찾는다.
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+}
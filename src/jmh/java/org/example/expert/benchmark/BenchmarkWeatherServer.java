@@ -0,0 +1,64 @@
+package org.example.expert.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/*
+외부 날씨 API 대신 1년치 weather.json 을 내려주는 로컬 stub 서버.
+todo 저장 경로를 벤치마크할 때 weather.api.base-url 로 넘긴다.
+ */
+public final class BenchmarkWeatherServer implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private BenchmarkWeatherServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static BenchmarkWeatherServer start() {
+        byte[] body = weatherJson().getBytes(StandardCharsets.UTF_8);
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/f-api/weather.json", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+            server.start();
+            return new BenchmarkWeatherServer(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    // 윤년 기준으로 01-01 ~ 12-31 전체
+    private static String weatherJson() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
+        StringBuilder sb = new StringBuilder("[");
+        for (LocalDate date = LocalDate.of(2024, 1, 1); date.getYear() == 2024; date = date.plusDays(1)) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"date\":\"").append(date.format(formatter)).append("\",\"weather\":\"Sunny\"}");
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.expert.benchmark;
+
+import jakarta.servlet.FilterChain;
+import org.example.expert.config.JwtFilter;
+import org.example.expert.config.JwtUtil;
+import org.example.expert.domain.user.enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/*
+JwtFilter 한 번 통과 비용. claims 캐시를 켰을 때와 껐을 때를 비교한다.
+ */
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean claimsCacheEnabled;
+
+    private JwtFilter jwtFilter;
+    private String bearerToken;
+    private final FilterChain noopChain = (request, response) -> {
+    };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(claimsCacheEnabled);
+        jwtFilter = new JwtFilter(jwtUtil);
+        bearerToken = jwtUtil.createToken(1L, "bench@user.com", "bench", UserRole.USER);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/todos");
+        request.addHeader("Authorization", bearerToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilter.doFilter(request, response, noopChain);
+        return response;
+    }
+}
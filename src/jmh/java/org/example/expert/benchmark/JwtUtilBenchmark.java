@@ -0,0 +1,36 @@
+package org.example.expert.benchmark;
+
+import io.jsonwebtoken.Claims;
+import org.example.expert.config.JwtUtil;
+import org.example.expert.domain.user.enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    @Param({"true", "false"})
+    public boolean claimsCacheEnabled;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil(claimsCacheEnabled);
+        token = jwtUtil.substringToken(jwtUtil.createToken(1L, "bench@user.com", "bench", UserRole.USER));
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtUtil.createToken(1L, "bench@user.com", "bench", UserRole.USER);
+    }
+
+    @Benchmark
+    public Claims extractClaims() {
+        return jwtUtil.extractClaims(token);
+    }
+}
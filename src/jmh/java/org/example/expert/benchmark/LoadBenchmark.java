@@ -0,0 +1,135 @@
+package org.example.expert.benchmark;
+
+import org.example.expert.config.JwtUtil;
+import org.example.expert.domain.user.entity.User;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+플랫폼 스레드 / 가상 스레드 모드 부하 비교 (./gradlew loadBenchmark -PjavaVersion=21)
+H2 로 애플리케이션을 띄우고, 동시 연결 수만큼 요청을 계속 걸어둔 상태로 GET /todos 를 보낸다.
+JMH 는 요청 하나의 지연시간을 재는 도구라서 동시 연결 수에 따른 처리량은 main 으로 잰다.
+
+args: <동시 연결 수 목록, 쉼표 구분>
+ */
+public final class LoadBenchmark {
+
+    private static final int REQUESTS_PER_CONNECTION = 20;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int SEED_TODOS = 100;
+
+    private LoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencies = Arrays.stream(args[0].split(",")).mapToInt(c -> Integer.parseInt(c.trim())).toArray();
+        boolean virtualThreadsAvailable = Runtime.version().feature() >= 21;
+
+        System.out.printf("%-9s %12s %12s %10s %10s %8s%n", "mode", "connections", "req/sec", "p50(ms)", "p99(ms)", "errors");
+        run("platform", false, concurrencies);
+        if (virtualThreadsAvailable) {
+            run("virtual", true, concurrencies);
+        } else {
+            System.out.println("가상 스레드 모드는 Java 21 이상에서만 측정합니다. (-PjavaVersion=21)");
+        }
+    }
+
+    private static void run(String mode, boolean virtualThreads, int[] concurrencies) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("server.tomcat.max-connections", 20_000);
+        properties.put("server.tomcat.accept-count", 10_000);
+
+        ConfigurableApplicationContext context = BenchmarkApplication.start("load-" + mode, properties);
+        try {
+            User user = BenchmarkApplication.saveUser(context, "bench@user.com");
+            BenchmarkApplication.seedTodos(context, user.getId(), SEED_TODOS);
+
+            JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+            String token = jwtUtil.createToken(user.getId(), user.getEmail(), user.getNickname(), user.getUserRole());
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/todos?size=10"))
+                    .header("Authorization", token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            load(httpClient, request, Math.min(concurrencies[0], 200), WARMUP_REQUESTS);
+            for (int connections : concurrencies) {
+                Result result = load(httpClient, request, connections, connections * REQUESTS_PER_CONNECTION);
+                System.out.printf("%-9s %12d %12.0f %10.1f %10.1f %8d%n",
+                        mode, connections, result.requestsPerSecond, result.p50Millis, result.p99Millis, result.errors);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    // 동시에 connections 개 요청이 떠 있도록 유지하면서 total 개를 보낸다.
+    private static Result load(HttpClient httpClient, HttpRequest request, int connections, int total) throws Exception {
+        Semaphore inFlight = new Semaphore(connections);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[total];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(total);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sentAt = System.nanoTime();
+            futures.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        if (e != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        long elapsed = System.nanoTime() - startedAt;
+
+        Arrays.sort(latencies);
+        return new Result(
+                total / (elapsed / 1_000_000_000.0),
+                latencies[total / 2] / 1_000_000.0,
+                latencies[(int) (total * 0.99)] / 1_000_000.0,
+                errors.get()
+        );
+    }
+
+    private static final class Result {
+
+        private final double requestsPerSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final int errors;
+
+        private Result(double requestsPerSecond, double p50Millis, double p99Millis, int errors) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.expert.benchmark;
+
+import org.example.expert.config.PasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+bcrypt cost 별 처리량 (초당 해시 수). ./gradlew jmh -PjmhIncludes=PasswordEncoderBenchmark
+결과 표의 cost / Score 가 이 장비에서의 cost 대 처리량이다. password.bcrypt.latency-budget 을 정할 때 참고한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordEncoderBenchmark {
+
+    private static final String RAW_PASSWORD = "Password1234";
+
+    @Param({"4", "6", "8", "10", "12"})
+    public int cost;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = BenchmarkFixtures.passwordEncoder(cost);
+        encodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.expert.benchmark;
+
+import org.example.expert.domain.user.enums.UserRole;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+기동 시간 벤치마크. JMH 로는 프로세스 기동을 잴 수 없어서 main 으로 돌린다. (./gradlew startupBenchmark)
+모드마다 프로세스를 새로 띄우고, 프로세스 시작부터 JWT 를 붙인 GET /todos 가 처음 200 을 받을 때까지의 시간을 잰다.
+
+args: <build/cds 경로> <java 실행 파일> <AOT 빌드 여부> <모드별 반복 횟수>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path cdsDir = Path.of(args[0]);
+        String java = args[1];
+        boolean aot = Boolean.parseBoolean(args[2]);
+        int runs = Integer.parseInt(args[3]);
+
+        Path applicationJar = findApplicationJar(cdsDir.resolve("application"));
+        String archive = "-XX:SharedArchiveFile=" + cdsDir.resolve("application.jsa");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of());
+        modes.put("cds", List.of(archive));
+        if (aot) {
+            modes.put("aot", List.of("-Dspring.aot.enabled=true"));
+            modes.put("cds+aot", List.of(archive, "-Dspring.aot.enabled=true"));
+        }
+
+        String token = BenchmarkFixtures.jwtUtil(false).createToken(1L, "bench@user.com", "bench", UserRole.USER);
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        System.out.printf("%-10s %10s %10s %10s%n", "mode", "min(ms)", "median(ms)", "max(ms)");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] elapsed = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Path log = cdsDir.resolve("startup-" + mode.getKey().replace('+', '-') + "-" + i + ".log");
+                try (AppProcess app = AppProcess.start(java, mode.getValue(), applicationJar, log)) {
+                    elapsed[i] = app.awaitFirstTodos(httpClient, token);
+                }
+            }
+            Arrays.sort(elapsed);
+            System.out.printf("%-10s %10d %10d %10d%n", mode.getKey(), elapsed[0], elapsed[runs / 2], elapsed[runs - 1]);
+        }
+    }
+
+    private static Path findApplicationJar(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("추출된 애플리케이션 jar 가 없습니다: " + directory));
+        }
+    }
+
+    private static final class AppProcess implements AutoCloseable {
+
+        private final Process process;
+        private final long startedAt;
+        private final int port;
+
+        private AppProcess(Process process, long startedAt, int port) {
+            this.process = process;
+            this.startedAt = startedAt;
+            this.port = port;
+        }
+
+        static AppProcess start(String java, List<String> jvmOptions, Path applicationJar, Path log) throws IOException {
+            int port = freePort();
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmOptions);
+            command.add("-jar");
+            command.add(applicationJar.toString());
+            command.add("--server.port=" + port);
+            command.add("--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL");
+            command.add("--spring.datasource.username=sa");
+            command.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+            command.add("--jwt.secret.key=" + BenchmarkFixtures.JWT_SECRET_KEY);
+            command.add("--todo.search.index.dir=");
+
+            // 작업 디렉터리는 jar 위치 (CDS 는 classpath 가 training run 과 같아야 한다)
+            ProcessBuilder builder = new ProcessBuilder(command)
+                    .directory(applicationJar.getParent().toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile());
+
+            long startedAt = System.nanoTime();
+            return new AppProcess(builder.start(), startedAt, port);
+        }
+
+        // 첫 200 응답까지 걸린 시간(ms)
+        long awaitFirstTodos(HttpClient httpClient, String token) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/todos"))
+                    .header("Authorization", token)
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+
+            long deadline = startedAt + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 종료되었습니다. exit code: " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException("기동 시간 초과: " + STARTUP_TIMEOUT);
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+    }
+}
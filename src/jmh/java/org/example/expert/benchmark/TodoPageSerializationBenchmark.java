@@ -0,0 +1,77 @@
+package org.example.expert.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.expert.config.TodoPageHttpMessageConverter;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.user.dto.response.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+GET /todos 응답(Page<TodoResponse>) 직렬화 비용. ./gradlew jmh -PjmhIncludes=TodoPageSerializationBenchmark
+- viaDto: VIA_DTO 모드와 같은 경로 (PagedModel 로 감싸서 MappingJackson2HttpMessageConverter)
+- streaming: TodoPageHttpMessageConverter
+gc.alloc.rate.norm 이 요청 하나당 할당량이다. 두 경로 모두 Page 는 같은 것을 쓰므로 차이는 직렬화에서만 난다.
+ */
+@State(Scope.Benchmark)
+public class TodoPageSerializationBenchmark {
+
+    private static final Type TODO_PAGE = new ParameterizedTypeReference<Page<TodoResponse>>() {
+    }.getType();
+
+    @Param({"100"})
+    public int size;
+
+    private Page<TodoResponse> page;
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+    private TodoPageHttpMessageConverter streamingConverter;
+
+    @Setup
+    public void setUp() {
+        // 스프링 부트 기본 설정과 같은 ObjectMapper (JavaTimeModule, ISO 날짜 문자열)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        streamingConverter = new TodoPageHttpMessageConverter(objectMapper);
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_000_000);
+        List<TodoResponse> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String weather = i % 3 == 0 ? null : "Sunny";
+            content.add(new TodoResponse((long) i, "title" + i, "contents" + i, weather,
+                    new UserResponse(1L, "bench@user.com"), now, now.plusSeconds(i)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, size), size * 10L);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage viaDto() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        jacksonConverter.write(new PagedModel<>(page), MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage streaming() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        streamingConverter.write(page, TODO_PAGE, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+}
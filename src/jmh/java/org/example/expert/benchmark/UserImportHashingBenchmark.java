@@ -0,0 +1,71 @@
+package org.example.expert.benchmark;
+
+import org.example.expert.config.PasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/*
+일괄 import 의 해시 단계 처리량 (초당 유저 수). ./gradlew jmh -PjmhIncludes=UserImportHashingBenchmark
+UserImportService 와 같이 batch 의 row 마다 ForkJoinPool 에 task 를 걸고 모두 기다린다.
+parallelism 을 늘릴 때 Score 가 코어 수까지 거의 비례해서 오르는지 본다. (코어 수를 넘으면 더 오르지 않는다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UserImportHashingBenchmark {
+
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"10"})
+    public int cost;
+
+    private PasswordEncoder passwordEncoder;
+    private ForkJoinPool hashPool;
+    private List<String> rawPasswords;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = BenchmarkFixtures.passwordEncoder(cost);
+        hashPool = new ForkJoinPool(parallelism);
+        rawPasswords = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            rawPasswords.add("Password" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashPool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> hashBatch() {
+        List<ForkJoinTask<String>> tasks = new ArrayList<>(BATCH_SIZE);
+        for (String rawPassword : rawPasswords) {
+            tasks.add(hashPool.submit(() -> passwordEncoder.encodeOnCallerThread(rawPassword)));
+        }
+        List<String> hashes = new ArrayList<>(BATCH_SIZE);
+        for (ForkJoinTask<String> task : tasks) {
+            hashes.add(task.join());
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.expert.benchmark;
+
+import org.example.expert.domain.user.enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserRoleBenchmark {
+
+    // JwtFilter 에서는 "USER"/"ADMIN" 이, 회원가입에서는 소문자 입력이 들어온다.
+    @Param({"USER", "ADMIN", "admin"})
+    public String role;
+
+    @Benchmark
+    public UserRole of() {
+        return UserRole.of(role);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.expert.domain.todo.search;
+
+import org.example.expert.benchmark.BenchmarkApplication;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.todo.service.TodoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/*
+키워드 검색: 역색인(TodoService.searchTodos q=) vs SQL LIKE '%단어%' (H2, 1M row)
+contents 는 2,000 개 단어(k0000 ~ k1999) 중 6개를 뽑아 만든다. 단어 하나가 약 0.3% row 에 나온다.
+LIKE 쪽도 페이지 응답과 같게 목록 10건 + count 를 실행한다.
+ */
+@State(Scope.Benchmark)
+public class TodoKeywordSearchBenchmark {
+
+    private static final int VOCABULARY = 2_000;
+    private static final int WORDS_PER_TODO = 6;
+    private static final int SIZE = 10;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"k0042", "k0042 k0007"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private JdbcTemplate jdbcTemplate;
+    private Long userId;
+
+    private String likeSql;
+    private String likeCountSql;
+    private Object[] likeArgs;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("keyword-search");
+        todoService = context.getBean(TodoService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        userId = BenchmarkApplication.saveUser(context, "bench@user.com").getId();
+        BenchmarkApplication.seedTodos(context, userId, rows, TodoKeywordSearchBenchmark::contents);
+        context.getBean(TodoSearchIndex.class).catchUp();
+
+        // 단어마다 (title LIKE ? OR contents LIKE ?) 를 AND 로 묶는다.
+        StringBuilder where = new StringBuilder("t.user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        for (String term : query.split(" ")) {
+            where.append(" AND (t.title LIKE ? OR t.contents LIKE ?)");
+            args.add("%" + term + "%");
+            args.add("%" + term + "%");
+        }
+        likeSql = "SELECT t.id, t.title, t.contents, t.weather, u.id, u.email, t.created_at, t.modified_at"
+                + " FROM todos t JOIN users u ON u.id = t.user_id WHERE " + where
+                + " ORDER BY t.modified_at DESC LIMIT " + SIZE;
+        likeCountSql = "SELECT COUNT(*) FROM todos t WHERE " + where;
+        likeArgs = args.toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TodoResponse> invertedIndex() {
+        return todoService.searchTodos(userId, query, null, null, null, 1, SIZE);
+    }
+
+    @Benchmark
+    public Object[] sqlLike() {
+        List<Map<String, Object>> content = jdbcTemplate.queryForList(likeSql, likeArgs);
+        Long total = jdbcTemplate.queryForObject(likeCountSql, Long.class, likeArgs);
+        return new Object[]{content, total};
+    }
+
+    private static String contents(int row) {
+        SplittableRandom random = new SplittableRandom(row);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < WORDS_PER_TODO; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(String.format("k%04d", random.nextInt(VOCABULARY)));
+        }
+        return sb.toString();
+    }
+}
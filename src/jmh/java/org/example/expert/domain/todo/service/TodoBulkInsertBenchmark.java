@@ -0,0 +1,97 @@
+package org.example.expert.domain.todo.service;
+
+import org.example.expert.benchmark.BenchmarkApplication;
+import org.example.expert.benchmark.BenchmarkWeatherServer;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.todo.dto.request.TodoBulkSaveRequest;
+import org.example.expert.domain.todo.dto.request.TodoSaveRequest;
+import org.example.expert.domain.user.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+todo 저장 처리량 (rows/sec). 한 번의 호출에 ROWS 건을 저장한다.
+- single: 기존처럼 POST /todos 를 건마다 호출 (건당 트랜잭션)
+- bulk: POST /todos/bulk 한 번 (한 트랜잭션, JDBC batch)
+batchSize=1 은 JDBC batch 를 끈 것과 같다.
+
+기본은 H2(MySQL 모드). BENCH_MYSQL_URL 환경 변수가 있으면 MySQL 에 붙는다.
+(예: jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true, 계정은 BENCH_MYSQL_USERNAME / BENCH_MYSQL_PASSWORD)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TodoBulkInsertBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private BenchmarkWeatherServer weatherServer;
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private AuthUser authUser;
+    private List<TodoSaveRequest> requests;
+
+    @Setup
+    public void setUp() {
+        weatherServer = BenchmarkWeatherServer.start();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("weather.api.base-url", weatherServer.baseUrl());
+        properties.put("persistence.jdbc.batch-size", batchSize);
+        String mysqlUrl = System.getenv("BENCH_MYSQL_URL");
+        if (mysqlUrl != null) {
+            properties.put("spring.datasource.url", mysqlUrl);
+            properties.put("spring.datasource.username", System.getenv().getOrDefault("BENCH_MYSQL_USERNAME", "root"));
+            properties.put("spring.datasource.password", System.getenv().getOrDefault("BENCH_MYSQL_PASSWORD", ""));
+        }
+
+        context = BenchmarkApplication.start("bulk-insert", properties);
+        todoService = context.getBean(TodoService.class);
+
+        User user = BenchmarkApplication.saveUser(context, "bench@user.com");
+        authUser = new AuthUser(user.getId(), user.getEmail(), user.getNickname(), user.getUserRole());
+
+        requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(new TodoSaveRequest("title" + i, "contents " + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        weatherServer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void single() {
+        for (TodoSaveRequest request : requests) {
+            todoService.saveTodo(authUser, request);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object bulk() {
+        return todoService.saveTodos(authUser, new TodoBulkSaveRequest(requests));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.expert.domain.todo.service;
+
+import org.example.expert.benchmark.BenchmarkFixtures;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.todo.entity.Todo;
+import org.example.expert.domain.user.entity.User;
+import org.example.expert.domain.user.enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+TodoService 목록 조회의 Todo -> TodoResponse 매핑 비용 (페이지 단위)
+ */
+@State(Scope.Benchmark)
+public class TodoMappingBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private Page<Todo> page;
+
+    @Setup
+    public void setUp() {
+        User user = User.fromAuthUser(new AuthUser(1L, "bench@user.com", "bench", UserRole.USER));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Todo> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Todo todo = new Todo("title" + i, "contents" + i, "Sunny", user);
+            BenchmarkFixtures.setField(todo, "id", (long) i + 1);
+            BenchmarkFixtures.setField(todo, "createdAt", now);
+            BenchmarkFixtures.setField(todo, "modifiedAt", now);
+            todos.add(todo);
+        }
+        page = new PageImpl<>(todos, PageRequest.of(0, size), 1_000);
+    }
+
+    @Benchmark
+    public Page<TodoResponse> mapPage() {
+        return page.map(TodoService::toTodoResponse);
+    }
+}
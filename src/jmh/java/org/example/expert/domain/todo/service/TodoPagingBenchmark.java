@@ -0,0 +1,62 @@
+package org.example.expert.domain.todo.service;
+
+import org.example.expert.benchmark.BenchmarkApplication;
+import org.example.expert.domain.todo.dto.response.TodoCursorResponse;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+/*
+offset 페이지네이션과 커서(키셋) 페이지네이션의 페이지 깊이별 지연시간 비교. (10k row, size=10)
+page=1000 이 마지막 페이지다. 커서 방식은 페이지가 깊어져도 평평해야 한다.
+ */
+@State(Scope.Benchmark)
+public class TodoPagingBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int SIZE = 10;
+
+    @Param({"1", "100", "1000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private Long userId;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("paging");
+        todoService = context.getBean(TodoService.class);
+
+        userId = BenchmarkApplication.saveUser(context, "bench@user.com").getId();
+        BenchmarkApplication.seedTodos(context, userId, ROWS);
+
+        // page 번째 페이지를 가리키는 커서를 미리 구해둔다.
+        cursor = "";
+        for (int i = 1; i < page; i++) {
+            cursor = todoService.getTodosByCursor(userId, cursor, SIZE).getNextCursor();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TodoResponse> offset() {
+        return todoService.getTodos(userId, page, SIZE);
+    }
+
+    @Benchmark
+    public TodoCursorResponse cursor() {
+        return todoService.getTodosByCursor(userId, cursor, SIZE);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.expert.domain.todo.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.example.expert.benchmark.BenchmarkApplication;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.todo.entity.QTodo;
+import org.example.expert.domain.todo.entity.Todo;
+import org.example.expert.domain.user.entity.QUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/*
+10k row H2 데이터셋에서 목록 조회 경로 비교.
+- entity: 기존 방식 (Todo 엔티티 + user fetch join 을 영속성 컨텍스트에 올린 뒤 DTO 로 매핑)
+- projection: TodoService.getTodos (QueryDSL Projections.constructor 로 DTO 직접 생성)
+-prof gc 의 gc.alloc.rate.norm 으로 요청당 힙 할당량 차이를 본다.
+ */
+@State(Scope.Benchmark)
+public class TodoReadPathBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"10", "100"})
+    public int size;
+
+    @Param({"1", "50"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private JPAQueryFactory queryFactory;
+    private TransactionTemplate readOnlyTransaction;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("read-path");
+        todoService = context.getBean(TodoService.class);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        userId = BenchmarkApplication.saveUser(context, "bench@user.com").getId();
+        BenchmarkApplication.seedTodos(context, userId, ROWS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TodoResponse> entity() {
+        return readOnlyTransaction.execute(status -> {
+            QTodo todo = QTodo.todo;
+            QUser user = QUser.user;
+            PageRequest pageable = PageRequest.of(page - 1, size);
+
+            List<Todo> todos = queryFactory
+                    .selectFrom(todo)
+                    .join(todo.user, user).fetchJoin()
+                    .where(todo.user.id.eq(userId))
+                    .orderBy(todo.modifiedAt.desc())
+                    .offset(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .fetch();
+
+            Long total = queryFactory
+                    .select(todo.count())
+                    .from(todo)
+                    .where(todo.user.id.eq(userId))
+                    .fetchOne();
+
+            return new PageImpl<>(todos, pageable, total).map(TodoService::toTodoResponse);
+        });
+    }
+
+    @Benchmark
+    public Page<TodoResponse> projection() {
+        return todoService.getTodos(userId, page, size);
+    }
+}
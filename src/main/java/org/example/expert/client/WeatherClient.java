@@ -1,30 +1,142 @@
 package org.example.expert.client;
 
+import lombok.extern.slf4j.Slf4j;
 import org.example.expert.client.dto.WeatherDto;
 import org.example.expert.domain.common.exception.ServerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
+/*
+weather.json 은 1년치 날씨가 한 번에 내려오는 정적인 데이터라서
+매 요청마다 받지 않고 MM-dd 기준으로 인덱싱한 스냅샷을 메모리에 들고 있는다.
+ */
+@Slf4j
 @Component
 public class WeatherClient {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM-dd");
+
     private final RestTemplate restTemplate;
+    private final URI weatherApiUri;
+    private final Clock clock;
+
+    private volatile WeatherSnapshot snapshot;
+    // 동시에 캐시 미스가 나도 upstream 호출은 하나만 나가도록 진행 중인 로딩을 공유한다.
+    private final AtomicReference<CompletableFuture<WeatherSnapshot>> inFlight = new AtomicReference<>();
 
-    public WeatherClient(RestTemplateBuilder builder) {
-        this.restTemplate = builder.build();
+    @Autowired
+    public WeatherClient(RestTemplateBuilder builder,
+                         @Value("${weather.api.base-url:https://f-api.github.io}") String baseUrl) {
+        this(builder, baseUrl, Clock.systemDefaultZone());
+    }
+
+    WeatherClient(RestTemplateBuilder builder, String baseUrl, Clock clock) {
+        // HttpURLConnection 은 내부 synchronized 때문에 가상 스레드가 carrier 에 고정(pinning)되므로 JDK HttpClient 를 쓴다.
+        this.restTemplate = builder
+                .requestFactoryBuilder(ClientHttpRequestFactoryBuilder.jdk())
+                .build();
+        this.weatherApiUri = buildWeatherApiUri(baseUrl);
+        this.clock = clock;
     }
 
     public String getTodayWeather() {
+        String weather = findWeather(LocalDate.now(clock));
+        if (weather == null) {
+            throw new ServerException("오늘에 해당하는 날씨 데이터를 찾을 수 없습니다.");
+        }
+        return weather;
+    }
+
+    // 비동기 보강처럼 todo 생성일과 조회 시점이 다를 수 있는 경우 사용
+    public String getWeather(LocalDate date) {
+        String weather = findWeather(date);
+        if (weather == null) {
+            throw new ServerException("해당 날짜의 날씨 데이터를 찾을 수 없습니다. 날짜: " + date);
+        }
+        return weather;
+    }
+
+    private String findWeather(LocalDate date) {
+        LocalDate today = LocalDate.now(clock);
+
+        WeatherSnapshot current = snapshot;
+        if (current == null || current.isExpiredOn(today)) {
+            current = loadSnapshot(today);
+        }
+        return current.get(date.format(DATE_FORMATTER));
+    }
+
+    // 자정 직전에 다음날까지 유효한 스냅샷을 미리 받아서, 자정 이후 첫 요청이 upstream 을 기다리지 않게 한다.
+    @Scheduled(cron = "${weather.refresh-cron:0 50 23 * * *}")
+    public void refreshBeforeMidnight() {
+        try {
+            loadSnapshot(LocalDate.now(clock).plusDays(1));
+        } catch (RuntimeException e) {
+            log.warn("날씨 스냅샷 사전 갱신 실패, 다음 요청에서 다시 시도합니다: {}", e.getMessage());
+        }
+    }
+
+    private WeatherSnapshot loadSnapshot(LocalDate validThrough) {
+        CompletableFuture<WeatherSnapshot> mine = new CompletableFuture<>();
+        CompletableFuture<WeatherSnapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            // 앞선 로딩이 끝난 직후에 들어온 경우라면 다시 받을 필요가 없다.
+            WeatherSnapshot current = snapshot;
+            if (current != null && !current.validThrough.isBefore(validThrough)) {
+                mine.complete(current);
+                return current;
+            }
+
+            WeatherSnapshot loaded = new WeatherSnapshot(fetchWeather(), validThrough);
+            snapshot = loaded;
+            mine.complete(loaded);
+            log.info("날씨 스냅샷 갱신 완료. 날짜 수: {}, 유효기간: {}", loaded.size(), validThrough);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private WeatherSnapshot await(CompletableFuture<WeatherSnapshot> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServerException("날씨 데이터를 가져오는데 실패했습니다.");
+        }
+    }
+
+    private Map<String, String> fetchWeather() {
         ResponseEntity<WeatherDto[]> responseEntity =
-                restTemplate.getForEntity(buildWeatherApiUri(), WeatherDto[].class);
+                restTemplate.getForEntity(weatherApiUri, WeatherDto[].class);
 
         if (!HttpStatus.OK.equals(responseEntity.getStatusCode())) {
             throw new ServerException("날씨 데이터를 가져오는데 실패했습니다. 상태 코드: " + responseEntity.getStatusCode());
@@ -35,28 +147,43 @@ public class WeatherClient {
             throw new ServerException("날씨 데이터가 없습니다.");
         }
 
-        String today = getCurrentDate();
-
+        Map<String, String> weatherByDate = new HashMap<>();
         for (WeatherDto weatherDto : weatherArray) {
-            if (today.equals(weatherDto.getDate())) {
-                return weatherDto.getWeather();
-            }
+            // 기존 동작과 같이 같은 날짜가 여러 번 있으면 처음 것을 쓴다.
+            weatherByDate.putIfAbsent(weatherDto.getDate(), weatherDto.getWeather());
         }
-
-        throw new ServerException("오늘에 해당하는 날씨 데이터를 찾을 수 없습니다.");
+        return weatherByDate;
     }
 
-    private URI buildWeatherApiUri() {
+    private URI buildWeatherApiUri(String baseUrl) {
         return UriComponentsBuilder
-                .fromUriString("https://f-api.github.io")
+                .fromUriString(baseUrl)
                 .path("/f-api/weather.json")
                 .encode()
                 .build()
                 .toUri();
     }
 
-    private String getCurrentDate() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
-        return LocalDate.now().format(formatter);
+    private static final class WeatherSnapshot {
+
+        private final Map<String, String> weatherByDate;
+        private final LocalDate validThrough;
+
+        private WeatherSnapshot(Map<String, String> weatherByDate, LocalDate validThrough) {
+            this.weatherByDate = Collections.unmodifiableMap(weatherByDate);
+            this.validThrough = validThrough;
+        }
+
+        private boolean isExpiredOn(LocalDate date) {
+            return date.isAfter(validThrough);
+        }
+
+        private String get(String monthDay) {
+            return weatherByDate.get(monthDay);
+        }
+
+        private int size() {
+            return weatherByDate.size();
+        }
     }
 }
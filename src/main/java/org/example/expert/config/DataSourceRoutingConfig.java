@@ -0,0 +1,101 @@
+package org.example.expert.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+읽기 전용 replica 라우팅 (datasource.replica.enabled=true)
+@Transactional(readOnly = true) 는 replica 로, 나머지는 primary(spring.datasource.*) 로 보낸다.
+
+- datasource.replica.urls: replica JDBC URL 목록 (쉼표 구분). 계정은 따로 지정하지 않으면 primary 와 같다.
+- datasource.replica.selection: round-robin / least-connections
+- datasource.replica.read-your-writes-window: 유저가 쓴 직후 그 유저의 읽기를 primary 로 보내는 시간(ms)
+spring.datasource.hikari.* 는 primary 에 적용하고, replica 풀 크기는 primary 와 같게 맞춘다.
+open-in-view 로 세션이 요청 끝까지 열려 있어도 트랜잭션마다 다시 라우팅되도록, 하이버네이트가 트랜잭션이 끝날 때 커넥션을 돌려주게 한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${datasource.replica.read-your-writes-window:2000}") long windowMillis) {
+        return new ReadYourWritesTracker(windowMillis, Clock.systemUTC());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             HikariDataSource primaryDataSource,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${datasource.replica.urls}") String urls,
+                                                             @Value("${datasource.replica.username:}") String username,
+                                                             @Value("${datasource.replica.password:}") String password,
+                                                             @Value("${datasource.replica.selection:round-robin}") String selection) {
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        List<DataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(replicaUrls.get(i))
+                    .username(username.isBlank() ? properties.determineUsername() : username)
+                    .password(username.isBlank() ? properties.determinePassword() : password)
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        log.info("replica 라우팅 사용. replica 수: {}, 선택 방식: {}", replicas.size(), selection);
+
+        return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicas,
+                ReplicaRoutingDataSource.Selection.from(selection),
+                readYourWritesTracker,
+                meterRegistry
+        );
+    }
+
+    /*
+    기본값(DELAYED_ACQUISITION_AND_HOLD)은 세션이 닫힐 때까지 처음 받은 커넥션을 들고 있는다.
+    open-in-view 에서는 한 요청의 두 번째 트랜잭션부터 readOnly 여부와 상관없이 첫 트랜잭션의 primary/replica 커넥션을 그대로 쓰게 된다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // readOnly 여부는 트랜잭션이 시작된 뒤에 정해지므로 실제 커넥션은 첫 쿼리 때 가져온다.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.expert.config;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.domain.common.exception.ServerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+서명 검증이 끝난 JWT claims 캐시.
+같은 토큰은 만료(exp) 전까지 한 번만 파싱/HMAC 검증하고, 이후에는 캐시된 claims 를 쓴다.
+원본 토큰을 메모리에 들고 있지 않도록 SHA-256 digest 를 키로 쓴다.
+max-size 를 넘으면 가장 오래 안 쓴 토큰을 하나 버린다. (접근 순서 LinkedHashMap 이라 O(1))
+만료된 항목은 꺼낼 때 버리고, 남은 것은 sweep-interval 마다 정리한다.
+ */
+@Slf4j
+@Component
+public class JwtClaimsCache {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedClaims> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final Clock clock;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    @Autowired
+    public JwtClaimsCache(MeterRegistry meterRegistry,
+                          @Value("${jwt.claims-cache.enabled:true}") boolean enabled,
+                          @Value("${jwt.claims-cache.max-size:10000}") int maxSize) {
+        this(meterRegistry, enabled, maxSize, Clock.systemUTC());
+    }
+
+    JwtClaimsCache(MeterRegistry meterRegistry, boolean enabled, int maxSize, Clock clock) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.hitCounter = meterRegistry.counter("jwt.claims.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("jwt.claims.cache", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("jwt.claims.cache.evictions");
+        meterRegistry.gauge("jwt.claims.cache.size", this, JwtClaimsCache::size);
+    }
+
+    public Claims get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        String key = digest(token);
+        lock.lock();
+        try {
+            CachedClaims cached = cache.get(key);
+            if (cached == null) {
+                missCounter.increment();
+                return null;
+            }
+
+            // 만료된 토큰은 다시 파싱해서 ExpiredJwtException 이 나도록 캐시에서 뺀다.
+            if (cached.isExpired(clock.millis())) {
+                cache.remove(key);
+                evictionCounter.increment();
+                missCounter.increment();
+                return null;
+            }
+
+            hitCounter.increment();
+            return cached.claims;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (!enabled || expiration == null) {
+            return;
+        }
+
+        String key = digest(token);
+        lock.lock();
+        try {
+            cache.put(key, new CachedClaims(claims, expiration.getTime()));
+            if (cache.size() > maxSize) {
+                // 앞쪽이 가장 오래 안 쓴 항목이다.
+                Iterator<Map.Entry<String, CachedClaims>> eldest = cache.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictionCounter.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.claims-cache.sweep-interval:60000}")
+    public void evictExpired() {
+        long now = clock.millis();
+        lock.lock();
+        try {
+            cache.values().removeIf(cached -> {
+                boolean expired = cached.isExpired(now);
+                if (expired) {
+                    evictionCounter.increment();
+                }
+                return expired;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            log.error("SHA-256 을 사용할 수 없습니다.", e);
+            throw new ServerException("JWT 캐시 키 생성 중 오류가 발생했습니다.");
+        }
+    }
+
+    private static final class CachedClaims {
+
+        private final Claims claims;
+        private final long expiresAtMillis;
+
+        private CachedClaims(Claims claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
@@ -58,7 +58,7 @@ public class JwtFilter implements Filter {
             /*
             닉네임 가져오고 검증
             */
-            String nickname = jwtUtil.getNicknameFromToken(jwt);
+            String nickname = claims.get("nickname", String.class);
             if (nickname == null) {
                 httpResponse.sendError(HttpServletResponse.SC_BAD_REQUEST, "jwt에 닉네임 정보가 없습니다.");
                 return;
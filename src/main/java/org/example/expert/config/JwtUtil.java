@@ -3,6 +3,7 @@ package org.example.expert.config;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.expert.domain.common.exception.ServerException;
 import org.example.expert.domain.user.enums.UserRole;
@@ -16,6 +17,7 @@ import java.util.Date;
 
 @Slf4j(topic = "JwtUtil")
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
     private static final String BEARER_PREFIX = "Bearer ";
@@ -24,7 +26,10 @@ public class JwtUtil {
     @Value("${jwt.secret.key}")
     private String secretKey;
     private Key key;
+    // parser 는 thread-safe 하므로 한 번만 만들어서 재사용
+    private JwtParser jwtParser;
     private final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.HS256;
+    private final JwtClaimsCache claimsCache;
 
     @PostConstruct
     public void init() {
@@ -32,6 +37,9 @@ public class JwtUtil {
             String cutSecretKey = secretKey.replaceAll("\\s","");
             byte[] bytes = Base64.getDecoder().decode(cutSecretKey);
             this.key = Keys.hmacShaKeyFor(bytes);
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .build();
             log.info("jwtUtil, jwt 키가 정상적으로 설정됨");
         } catch (IllegalArgumentException e) {
             log.error("jwt 시크릿 키 오류 : 올바른 base64 인지 확인", e);
@@ -67,12 +75,18 @@ public class JwtUtil {
     }
 
     public Claims extractClaims(String token) {
+        // 이미 검증된 토큰이면 다시 파싱/서명 검증하지 않는다.
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
+            Claims claims = jwtParser
                     .parseClaimsJws(token)
                     .getBody();
+            claimsCache.put(token, claims);
+            return claims;
         } catch (ExpiredJwtException e) {
             log.error("만료된 JWT 토큰: {}", e.getMessage());
             throw new ServerException("만료된 JWT 토큰입니다.");
@@ -1,17 +1,138 @@
 package org.example.expert.config;
 
 import at.favre.lib.crypto.bcrypt.BCrypt;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/*
+bcrypt 는 요청 스레드가 아니라 PasswordHashExecutor 에서 돌린다. 풀이 가득 차 있으면 ServiceUnavailableException (503)
+cost 는 password.bcrypt.cost 로 고정하거나, 0 이면 기동할 때 이 장비에서 해시 1회가 latency-budget 안에 끝나는 가장 높은 cost 를 고른다.
+cost 는 해시 문자열($2a$<cost>$...)에 들어 있어서, 예전 cost 로 만든 해시도 그대로 검증된다.
+ */
+@Slf4j
 @Component
 public class PasswordEncoder {
 
+    private static final int MAX_CALIBRATED_COST = 16;
+    private static final int CALIBRATION_RUNS = 3;
+    private static final String CALIBRATION_PASSWORD = "calibration-Password1234";
+
+    private final PasswordHashExecutor hashExecutor;
+    private final int cost;
+
+    public PasswordEncoder(PasswordHashExecutor hashExecutor,
+                           @Value("${password.bcrypt.cost:0}") int cost,
+                           @Value("${password.bcrypt.latency-budget:250}") long latencyBudgetMillis) {
+        this.hashExecutor = hashExecutor;
+        this.cost = cost > 0 ? cost : calibrate(TimeUnit.MILLISECONDS.toNanos(latencyBudgetMillis));
+        log.info("bcrypt cost: {}", this.cost);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
     public String encode(String rawPassword) {
-        return BCrypt.withDefaults().hashToString(BCrypt.MIN_COST, rawPassword.toCharArray());
+        return await(encodeAsync(rawPassword));
+    }
+
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return hashExecutor.submit(() -> hash(rawPassword, cost));
+    }
+
+    // 해시 풀을 거치지 않고 호출한 스레드에서 바로 해시한다. 자기 풀에서 병렬로 돌리는 일괄 작업(UserImportService)용
+    public String encodeOnCallerThread(String rawPassword) {
+        return hash(rawPassword, cost);
     }
 
     public boolean matches(String rawPassword, String encodedPassword) {
+        return await(hashExecutor.submit(() -> verify(rawPassword, encodedPassword)));
+    }
+
+    // 같은 해시에 대해 여러 비밀번호를 동시에 검증한다. 결과는 rawPasswords 순서대로
+    public List<Boolean> matchesEach(String encodedPassword, String... rawPasswords) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(rawPasswords.length);
+        for (String rawPassword : rawPasswords) {
+            futures.add(hashExecutor.submit(() -> verify(rawPassword, encodedPassword)));
+        }
+
+        List<Boolean> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Boolean> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    // 지금 설정된 cost 보다 낮은 cost 로 만든 해시인지. 형식을 알 수 없으면 건드리지 않는다.
+    // 높은 cost 는 그대로 둔다. 보정 결과가 다른 장비끼리 같은 유저를 번갈아 재해시하지 않도록
+    public boolean needsRehash(String encodedPassword) {
+        int hashCost = costOf(encodedPassword);
+        return hashCost > 0 && hashCost < cost;
+    }
+
+    // $2a$10$... 의 10
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /*
+    cost 가 1 오를 때마다 시간이 두 배가 되므로, 낮은 cost 부터 재다가 다음 cost 가 예산을 넘을 것 같으면 멈춘다.
+    JIT 워밍업과 튀는 값을 피하려고 cost 마다 여러 번 재서 가장 짧은 시간을 쓴다.
+     */
+    private static int calibrate(long budgetNanos) {
+        int chosen = BCrypt.MIN_COST;
+        for (int candidate = BCrypt.MIN_COST; candidate <= MAX_CALIBRATED_COST; candidate++) {
+            long elapsed = Long.MAX_VALUE;
+            for (int run = 0; run < CALIBRATION_RUNS; run++) {
+                long startedAt = System.nanoTime();
+                hash(CALIBRATION_PASSWORD, candidate);
+                elapsed = Math.min(elapsed, System.nanoTime() - startedAt);
+            }
+            log.debug("bcrypt cost {}: {}ms", candidate, TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+            if (elapsed > budgetNanos) {
+                break;
+            }
+            chosen = candidate;
+            if (elapsed * 2 > budgetNanos) {
+                break;
+            }
+        }
+        return chosen;
+    }
+
+    private static String hash(String rawPassword, int cost) {
+        return BCrypt.withDefaults().hashToString(cost, rawPassword.toCharArray());
+    }
+
+    private static boolean verify(String rawPassword, String encodedPassword) {
         BCrypt.Result result = BCrypt.verifyer().verify(rawPassword.toCharArray(), encodedPassword);
         return result.verified;
     }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
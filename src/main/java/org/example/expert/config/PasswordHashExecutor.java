@@ -0,0 +1,83 @@
+package org.example.expert.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.domain.common.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+bcrypt 전용 스레드 풀. 코어 수만큼의 스레드와 크기가 정해진 큐만 쓴다.
+로그인이 몰려도 해시는 코어 수만큼만 동시에 돌고, 큐가 차면 기다리지 않고 503 으로 거절한다.
+요청 스레드는 결과를 기다리기만 하므로 CPU 를 잡고 있지 않고, 다른 가벼운 요청은 계속 처리된다.
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer hashTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashExecutor(MeterRegistry meterRegistry,
+                                @Value("${password.hash.threads:0}") int threads,
+                                @Value("${password.hash.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = meterRegistry.timer("password.hash");
+        this.waitTimer = meterRegistry.timer("password.hash.queue.wait");
+        this.rejectedCounter = meterRegistry.counter("password.hash.rejected");
+        meterRegistry.gauge("password.hash.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("password.hash.active", executor, ThreadPoolExecutor::getActiveCount);
+        log.info("비밀번호 해시 풀: 스레드 {}개, 큐 {}", poolSize, queueCapacity);
+    }
+
+    // 큐가 가득 차 있으면 바로 ServiceUnavailableException
+    public <T> CompletableFuture<T> submit(Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
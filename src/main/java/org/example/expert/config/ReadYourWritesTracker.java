@@ -0,0 +1,68 @@
+package org.example.expert.config;
+
+import org.example.expert.domain.common.dto.AuthUser;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+read-your-writes 구간 관리.
+유저의 쓰기 트랜잭션이 커밋된 뒤 window 동안은 그 유저의 읽기도 primary 로 보내서 복제 지연으로 방금 쓴 데이터가 안 보이는 일을 막는다.
+유저는 SecurityContext 의 AuthUser 기준이며, 인증 정보가 없는 요청(백그라운드 작업 등)은 대상이 아니다.
+ */
+public class ReadYourWritesTracker {
+
+    private final ConcurrentHashMap<Long, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(long windowMillis, Clock clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    public void recordWrite() {
+        Long userId = currentUserId();
+        if (userId != null && windowMillis > 0) {
+            primaryUntil.put(userId, clock.millis() + windowMillis);
+        }
+    }
+
+    public boolean isWithinWindow() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long until = primaryUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (clock.millis() >= until) {
+            primaryUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+
+    // 이후 읽기가 없는 유저의 항목이 남지 않도록 주기적으로 정리한다.
+    @Scheduled(fixedDelayString = "${datasource.replica.read-your-writes-sweep-interval:60000}")
+    public void evictExpired() {
+        long now = clock.millis();
+        primaryUntil.values().removeIf(until -> now >= until);
+    }
+
+    public int size() {
+        return primaryUntil.size();
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+            return authUser.getId();
+        }
+        return null;
+    }
+}
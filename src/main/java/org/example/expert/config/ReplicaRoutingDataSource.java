@@ -0,0 +1,155 @@
+package org.example.expert.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+readOnly 트랜잭션은 replica 로, 나머지는 primary 로 보내는 DataSource.
+트랜잭션의 readOnly 여부는 커넥션을 실제로 가져오는 시점에 결정되므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+
+- replica 선택: round-robin 또는 least-connections (Hikari 활성 커넥션 수 기준)
+- 쓰기 트랜잭션이 커밋되면 ReadYourWritesTracker 에 기록하고, 구간 안의 같은 유저 읽기는 primary 로 보낸다.
+- target/reason 별로 커넥션 라우팅 횟수를 datasource.routing 카운터로 남긴다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Object WRITE_MARKER = new Object();
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_CONNECTIONS;
+
+        public static Selection from(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final List<String> replicaKeys;
+    private final List<DataSource> replicas;
+    private final Selection selection;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter writeCounter;
+    private final Counter readYourWritesCounter;
+    private final Map<String, Counter> readCounters = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<DataSource> replicas,
+                                    Selection selection,
+                                    ReadYourWritesTracker readYourWritesTracker,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        List<String> keys = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            keys.add(key);
+            targets.put(key, replicas.get(i));
+            readCounters.put(key, meterRegistry.counter("datasource.routing", "target", key, "reason", "read"));
+        }
+        this.replicaKeys = List.copyOf(keys);
+
+        this.writeCounter = meterRegistry.counter("datasource.routing", "target", PRIMARY, "reason", "write");
+        this.readYourWritesCounter = meterRegistry.counter("datasource.routing", "target", PRIMARY, "reason", "read-your-writes");
+        // replica 가 없으면 읽기도 primary 로 간다.
+        readCounters.put(PRIMARY, meterRegistry.counter("datasource.routing", "target", PRIMARY, "reason", "read"));
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteAfterCommit();
+            writeCounter.increment();
+            return PRIMARY;
+        }
+
+        if (readYourWritesTracker.isWithinWindow()) {
+            readYourWritesCounter.increment();
+            return PRIMARY;
+        }
+
+        String key = replicaKeys.isEmpty() ? PRIMARY : selectReplica();
+        readCounters.get(key).increment();
+        return key;
+    }
+
+    private String selectReplica() {
+        if (selection == Selection.LEAST_CONNECTIONS) {
+            int best = 0;
+            int bestActive = Integer.MAX_VALUE;
+            // 같은 값이면 한쪽으로 몰리지 않도록 round-robin 위치부터 본다.
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                int active = activeConnections(replicas.get(index));
+                if (active < bestActive) {
+                    best = index;
+                    bestActive = active;
+                }
+            }
+            return replicaKeys.get(best);
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            // 아직 풀이 만들어지지 않았으면 사용 중인 커넥션도 없다.
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+        return 0;
+    }
+
+    // replica 풀은 빈으로 등록되지 않으므로 여기서 닫는다. (primary 는 따로 빈으로 관리된다)
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    // 트랜잭션당 한 번만 등록한다.
+    private void recordWriteAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.recordWrite();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+            }
+        });
+    }
+}
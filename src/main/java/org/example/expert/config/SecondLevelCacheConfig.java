@@ -0,0 +1,75 @@
+package org.example.expert.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.example.expert.domain.user.entity.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/*
+하이버네이트 2차 캐시 (Ehcache 3, JCache). 지금은 User 엔티티와 email natural-id 만 캐시한다.
+- heap 에 entry 수 기준으로 두고, 넘치면 off-heap(MB) 으로 내려간다. off-heap 도 차면 오래된 것부터 버린다.
+- 영속성 컨텍스트를 거친 수정(changePassword, updateRole)은 커밋 시 하이버네이트가 캐시를 갱신한다. (READ_WRITE)
+- 통계는 hibernate.* 메트릭으로 나간다. (hibernate.second.level.cache.requests 등, region 태그)
+캐시가 없는 region 을 쓰려고 하면 시작할 때 실패하게 해서 설정이 빠지지 않도록 한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "persistence.second-level-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    // 컨텍스트마다 별도 CacheManager 를 쓴다. (테스트처럼 한 JVM 에 여러 컨텍스트가 떠도 캐시가 섞이지 않게)
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${persistence.second-level-cache.heap-entries:10000}") long heapEntries,
+                                              @Value("${persistence.second-level-cache.off-heap-mb:32}") long offHeapMb,
+                                              @Value("${persistence.second-level-cache.time-to-idle:3600000}") long timeToIdleMillis) {
+        CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:expert:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.newResourcePoolsBuilder()
+                .heap(heapEntries, EntryUnit.ENTRIES);
+        if (offHeapMb > 0) {
+            pools = pools.offheap(offHeapMb, MemoryUnit.MB);
+        }
+        CacheConfiguration<Object, Object> configuration = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, pools)
+                .withExpiry(ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofMillis(timeToIdleMillis)))
+                .build();
+
+        for (String region : new String[]{User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION}) {
+            cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+        }
+        log.info("2차 캐시 사용. heap: {}건, off-heap: {}MB", heapEntries, offHeapMb);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager,
+                                                                    @Value("${persistence.statistics.enabled:true}") boolean statistics) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+}
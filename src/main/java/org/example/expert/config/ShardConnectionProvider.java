@@ -0,0 +1,42 @@
+package org.example.expert.config;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+import javax.sql.DataSource;
+
+/*
+shard 를 하이버네이트 tenant 로 연결한다. (tenant id = shard 번호 문자열)
+세션을 열 때 ShardContext 의 shard 로 커넥션을 받고, 시퀀스 pooled optimizer 도 tenant 별로 따로 잡힌다.
+ */
+public class ShardConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String> {
+
+    private final ShardDataSources shards;
+
+    public ShardConnectionProvider(ShardDataSources shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return shards.get(ShardContext.GLOBAL_SHARD);
+    }
+
+    @Override
+    protected DataSource selectDataSource(String tenantIdentifier) {
+        return shards.get(Integer.parseInt(tenantIdentifier));
+    }
+
+    public static class TenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+        @Override
+        public String resolveCurrentTenantIdentifier() {
+            return String.valueOf(ShardContext.current());
+        }
+
+        @Override
+        public boolean validateExistingCurrentSessions() {
+            return false;
+        }
+    }
+}
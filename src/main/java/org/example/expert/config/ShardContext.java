@@ -0,0 +1,56 @@
+package org.example.expert.config;
+
+import java.util.function.Supplier;
+
+/*
+현재 스레드가 사용할 shard 번호. 하이버네이트 tenant 로 쓰이므로 트랜잭션(세션)을 열기 전에 정해져 있어야 한다.
+요청은 ShardFilter 가 정하고, 백그라운드 작업은 callIn / runIn 으로 감싼다.
+정해지지 않았으면 global shard(0, users 원본이 있는 곳)를 쓴다.
+ */
+public final class ShardContext {
+
+    public static final int GLOBAL_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : GLOBAL_SHARD;
+    }
+
+    public static <T> T callIn(int shard, Supplier<T> action) {
+        Integer previous = bind(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runIn(int shard, Runnable action) {
+        Integer previous = bind(shard);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // 이전 값을 돌려주므로 restore 로 되돌린다.
+    static Integer bind(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
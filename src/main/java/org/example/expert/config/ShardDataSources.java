@@ -0,0 +1,39 @@
+package org.example.expert.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/*
+shard 번호 순서의 DataSource 목록. 0 번은 spring.datasource 로 만든 기본 DataSource 다.
+1 번 이후는 빈으로 등록하지 않으므로 여기서 닫는다.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<DataSource> dataSources;
+
+    public ShardDataSources(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public DataSource get(int shard) {
+        if (shard < 0 || shard >= dataSources.size()) {
+            throw new IllegalArgumentException("존재하지 않는 shard 입니다: " + shard);
+        }
+        return dataSources.get(shard);
+    }
+
+    public int size() {
+        return dataSources.size();
+    }
+
+    @Override
+    public void close() {
+        for (int shard = 1; shard < dataSources.size(); shard++) {
+            if (dataSources.get(shard) instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.expert.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.shard.service.ShardDirectory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+요청이 사용할 shard 를 정한다. 인증 필터 뒤, open-in-view 로 세션이 열리기 전에 실행되어야 한다.
+- /todos/{todoId}/... : todo 가 있는 shard (댓글, 담당자도 todo 와 같은 shard 에 있다)
+- 그 외 /todos... : 로그인한 유저의 shard
+- 나머지(/auth, /users, /admin) : global shard
+ShardRebalancer 가 옮기는 유저 / todo 로 들어온 요청은 503 으로 돌려보내고, 이미 들어와 있는 요청은 끝날 때까지 옮기기를 기다리게 한다.
+ */
+@RequiredArgsConstructor
+public class ShardFilter extends OncePerRequestFilter {
+
+    private static final Pattern TODO_PATH = Pattern.compile("^/todos/(\\d+)(/.*)?$");
+
+    private final ShardDirectory shardDirectory;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+
+        Matcher todoPath = TODO_PATH.matcher(uri);
+        if (todoPath.matches()) {
+            long todoId = Long.parseLong(todoPath.group(1));
+            if (!shardDirectory.enterTodo(todoId)) {
+                rejectMoving(response);
+                return;
+            }
+            try {
+                doFilterIn(shardDirectory.shardOfTodo(todoId), request, response, filterChain);
+            } finally {
+                shardDirectory.exitTodo(todoId);
+            }
+            return;
+        }
+
+        Long userId = uri.startsWith("/todos") ? currentUserId() : null;
+        if (userId == null) {
+            doFilterIn(ShardContext.GLOBAL_SHARD, request, response, filterChain);
+            return;
+        }
+        if (!shardDirectory.enterUser(userId)) {
+            rejectMoving(response);
+            return;
+        }
+        try {
+            doFilterIn(shardDirectory.shardOfUser(userId), request, response, filterChain);
+        } finally {
+            shardDirectory.exitUser(userId);
+        }
+    }
+
+    private static void doFilterIn(int shard, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Integer previous = ShardContext.bind(shard);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private static void rejectMoving(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "데이터를 이동하는 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+            return authUser.getId();
+        }
+        return null;
+    }
+}
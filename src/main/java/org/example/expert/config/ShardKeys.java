@@ -0,0 +1,23 @@
+package org.example.expert.config;
+
+/*
+todo / manager id 의 상위 비트에 shard 번호를 넣는다. (id = shard << 48 | shard 안에서의 순번)
+각 shard 의 시퀀스를 자기 구간에서 시작하게 해두면(ShardSchemaInitializer) id 만 보고 shard 를 찾을 수 있다.
+shard 0 은 기존 id 와 같아서, 샤딩을 켜기 전에 만든 데이터는 그대로 shard 0 에 있다.
+ */
+public final class ShardKeys {
+
+    public static final int SHARD_SHIFT = 48;
+    public static final int MAX_SHARDS = 1 << 15;
+
+    private ShardKeys() {
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id >>> SHARD_SHIFT);
+    }
+
+    public static long baseOf(int shard) {
+        return (long) shard << SHARD_SHIFT;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.expert.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ddl-auto 는 shard 0 에만 적용되므로, 그때 하이버네이트가 만든 create 스크립트를 나머지 shard 에 그대로 실행한다.
+그 다음 shard 마다 시퀀스를 자기 id 구간(ShardKeys)에서 시작하게 옮긴다.
+ddl-auto 를 쓰지 않는 운영 환경에서는 shard 마다 마이그레이션으로 스키마를 맞추고 시퀀스 시작값도 같은 규칙으로 잡아야 한다.
+ */
+@Slf4j
+public class ShardSchemaInitializer {
+
+    private static final Pattern SEQUENCE = Pattern.compile(
+            "create sequence (\\S+) start with \\d+ increment by (\\d+)", Pattern.CASE_INSENSITIVE);
+    // 시퀀스를 지원하지 않는 DB(MySQL)는 하이버네이트가 테이블로 흉내낸다.
+    private static final Pattern SEQUENCE_TABLE = Pattern.compile(
+            "create table (\\S+_seq) \\(", Pattern.CASE_INSENSITIVE);
+
+    private final ShardDataSources shards;
+    private final StringWriter createScript;
+    private final int allocationSize;
+
+    public ShardSchemaInitializer(ShardDataSources shards, StringWriter createScript, int allocationSize) {
+        this.shards = shards;
+        this.createScript = createScript;
+        this.allocationSize = allocationSize;
+    }
+
+    public void initialize() {
+        String script = createScript.toString();
+        if (script.isBlank()) {
+            log.info("ddl-auto 로 만든 스키마가 없어 shard 스키마 복제를 건너뜁니다.");
+            return;
+        }
+
+        for (int shard = 1; shard < shards.size(); shard++) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                    new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)));
+            populator.execute(shards.get(shard));
+            moveSequences(shard, script);
+            log.info("shard {} 스키마 생성 완료", shard);
+        }
+    }
+
+    /*
+    pooled optimizer 는 시퀀스 값 v 를 받으면 (v - increment, v] 구간의 id 를 쓴다.
+    그래서 base + increment 에서 시작해야 첫 id 가 base + 1 이 된다.
+     */
+    private void moveSequences(int shard, String script) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(shard));
+        long base = ShardKeys.baseOf(shard);
+
+        Matcher sequence = SEQUENCE.matcher(script);
+        while (sequence.find()) {
+            long start = base + Long.parseLong(sequence.group(2));
+            jdbcTemplate.execute("alter sequence " + sequence.group(1) + " restart with " + start);
+        }
+
+        Matcher table = SEQUENCE_TABLE.matcher(script);
+        while (table.find()) {
+            jdbcTemplate.update("update " + table.group(1) + " set next_val = ?", base + allocationSize);
+        }
+    }
+}
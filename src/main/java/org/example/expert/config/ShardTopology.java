@@ -0,0 +1,38 @@
+package org.example.expert.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/*
+shard 개수. 샤딩을 끄면 shard 0 하나만 있는 것과 같다.
+백그라운드 작업이 모든 shard 를 돌아야 할 때 쓴다.
+ */
+@Getter
+@Component
+public class ShardTopology {
+
+    private final int shardCount;
+
+    public ShardTopology(@Value("${datasource.shard.enabled:false}") boolean enabled,
+                         @Value("${datasource.shard.urls:}") String urls) {
+        this.shardCount = enabled ? 1 + parseUrls(urls).length : 1;
+    }
+
+    // spring.datasource.url 이 shard 0, 여기 적은 URL 이 순서대로 shard 1, 2, ...
+    public static String[] parseUrls(String urls) {
+        return Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toArray(String[]::new);
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public void forEachShard(Runnable action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardContext.runIn(shard, action);
+        }
+    }
+}
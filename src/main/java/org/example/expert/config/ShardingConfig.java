@@ -0,0 +1,98 @@
+package org.example.expert.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.domain.shard.service.ShardDirectory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+user id 기준 샤딩 (datasource.shard.enabled=true)
+- shard 0 은 spring.datasource, shard 1.. 은 datasource.shard.urls (쉼표 구분, 계정은 spring.datasource 와 같다)
+- todos / managers / comments / todo_counts 는 todo 주인의 shard 에, users 는 모든 shard 에 둔다. (원본은 shard 0)
+- 하이버네이트 DATABASE 멀티테넌시로 세션마다 ShardContext 의 shard 를 쓴다.
+읽기 replica 라우팅(datasource.replica.enabled)과는 같이 쓰지 않는다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.shard.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private final StringWriter createScript = new StringWriter();
+
+    /*
+    shard 0 도 감싸서 등록한다. JpaTransactionManager 가 기본 DataSource 로 현재 세션(다른 shard 일 수 있음)의 커넥션을 묶어두므로,
+    같은 객체를 쓰면 JDBC 로 shard 0 을 읽을 때 그 커넥션을 받게 된다.
+     */
+    @Bean
+    public ShardDataSources shardDataSources(DataSource dataSource,
+                                             DataSourceProperties properties,
+                                             @Value("${datasource.shard.urls}") String urls) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(new DelegatingDataSource(dataSource));
+
+        String[] shardUrls = ShardTopology.parseUrls(urls);
+        for (int i = 0; i < shardUrls.length; i++) {
+            HikariDataSource shard = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(shardUrls[i])
+                    .build();
+            shard.setPoolName("shard-" + (i + 1));
+            if (dataSource instanceof HikariDataSource primary) {
+                shard.setMaximumPoolSize(primary.getMaximumPoolSize());
+            }
+            shards.add(shard);
+        }
+        if (shards.size() > ShardKeys.MAX_SHARDS) {
+            throw new IllegalStateException("shard 는 최대 " + ShardKeys.MAX_SHARDS + "개까지 쓸 수 있습니다.");
+        }
+        log.info("샤딩 사용. shard 수: {}", shards.size());
+        return new ShardDataSources(shards);
+    }
+
+    // ddl-auto 로 스키마를 만들 때는 create 스크립트를 받아서 나머지 shard 에도 실행한다.
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateCustomizer(ShardDataSources shardDataSources) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, new ShardConnectionProvider(shardDataSources));
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new ShardConnectionProvider.TenantResolver());
+
+            Object ddlAuto = properties.get(AvailableSettings.HBM2DDL_AUTO);
+            if ("create".equals(ddlAuto) || "create-drop".equals(ddlAuto)) {
+                properties.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_ACTION, "create");
+                properties.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_CREATE_TARGET, createScript);
+                properties.put(AvailableSettings.HBM2DDL_DELIMITER, ";");
+            }
+        };
+    }
+
+    // EntityManagerFactory 가 만들어진 뒤(= shard 0 스키마와 스크립트가 준비된 뒤) 실행된다.
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardDataSources shardDataSources) {
+        ShardSchemaInitializer initializer = new ShardSchemaInitializer(shardDataSources, createScript, SEQUENCE_ALLOCATION_SIZE);
+        initializer.initialize();
+        return initializer;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShardFilter> shardFilter(ShardDirectory shardDirectory) {
+        FilterRegistrationBean<ShardFilter> registration = new FilterRegistrationBean<>(new ShardFilter(shardDirectory));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
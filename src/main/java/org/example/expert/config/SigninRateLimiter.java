@@ -0,0 +1,95 @@
+package org.example.expert.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.domain.common.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/*
+/auth/signin 시도 횟수 제한. window 동안
+- 이메일별: 로그인에 실패한 횟수가 per-email 번이 되면 그 이메일의 시도를 받지 않는다. 성공한 로그인은 세지 않는다.
+- 클라이언트 IP별: 받은 시도가 per-ip 번을 넘지 않게 한다.
+거절된 시도는 어느 쪽에도 세지 않는다. (남이 정상 유저의 이메일로 계속 두드려도, 멈추면 window 가 지나면서 풀린다)
+유저 조회와 bcrypt 검증 전에 불러서, 거절된 시도는 DB 와 해시 풀을 쓰지 않는다.
+키는 SlidingWindowSketch 에 세므로 처음 보는 이메일이 아무리 많이 들어와도 메모리는 늘지 않는다.
+기본값(depth 4, width 2^18)이면 sketch 하나에 8MB, 이메일/IP 합쳐 16MB 이고,
+한 윈도우에 서로 다른 키가 백만 개 정도 들어와도 한도 안의 키가 잘못 걸리는 일은 드물다. (SigninRateLimiterTest)
+ */
+@Slf4j
+@Component
+public class SigninRateLimiter {
+
+    private final boolean enabled;
+    private final int perEmail;
+    private final int perIp;
+    private final SlidingWindowSketch emailSketch;
+    private final SlidingWindowSketch ipSketch;
+
+    private final Counter emailThrottledCounter;
+    private final Counter ipThrottledCounter;
+
+    public SigninRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${auth.signin.rate-limit.enabled:true}") boolean enabled,
+                             @Value("${auth.signin.rate-limit.per-email:10}") int perEmail,
+                             @Value("${auth.signin.rate-limit.per-ip:100}") int perIp,
+                             @Value("${auth.signin.rate-limit.window:60000}") long windowMillis,
+                             @Value("${auth.signin.rate-limit.sketch-depth:4}") int depth,
+                             @Value("${auth.signin.rate-limit.sketch-width:262144}") int width) {
+        this.enabled = enabled;
+        this.perEmail = perEmail;
+        this.perIp = perIp;
+        this.emailSketch = new SlidingWindowSketch(depth, width, windowMillis);
+        this.ipSketch = new SlidingWindowSketch(depth, width, windowMillis);
+
+        this.emailThrottledCounter = meterRegistry.counter("auth.signin.throttled", "key", "email");
+        this.ipThrottledCounter = meterRegistry.counter("auth.signin.throttled", "key", "ip");
+        if (enabled) {
+            log.info("로그인 시도 제한: 이메일 {}회, IP {}회 / {}ms, sketch {}MB", perEmail, perIp, windowMillis,
+                    (emailSketch.getMemoryBytes() + ipSketch.getMemoryBytes()) >> 20);
+        }
+    }
+
+    // 한도를 넘었으면 TooManyRequestsException (429)
+    public void check(String email, String clientIp) {
+        check(email, clientIp, System.currentTimeMillis());
+    }
+
+    // 틀린 비밀번호, 가입되지 않은 이메일로 로그인에 실패했을 때 부른다.
+    public void recordFailure(String email) {
+        recordFailure(email, System.currentTimeMillis());
+    }
+
+    void check(String email, String clientIp, long nowMillis) {
+        if (!enabled) {
+            return;
+        }
+        if (email != null && emailSketch.estimate(emailKey(email), nowMillis) >= perEmail) {
+            emailThrottledCounter.increment();
+            throw tooManyRequests(emailSketch);
+        }
+        if (clientIp != null && !ipSketch.tryAcquire(clientIp, perIp, nowMillis)) {
+            ipThrottledCounter.increment();
+            throw tooManyRequests(ipSketch);
+        }
+    }
+
+    void recordFailure(String email, long nowMillis) {
+        if (enabled && email != null) {
+            emailSketch.add(emailKey(email), nowMillis);
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static TooManyRequestsException tooManyRequests(SlidingWindowSketch sketch) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sketch.getWindowMillis()));
+        return new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+}
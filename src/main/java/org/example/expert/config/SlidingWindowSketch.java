@@ -0,0 +1,165 @@
+package org.example.expert.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+키별 요청 수를 세는 슬라이딩 윈도우 카운터. 키를 따로 저장하지 않고 count-min sketch (depth x width 칸) 에 센다.
+- 메모리는 키 개수와 상관없이 2(현재/직전 윈도우) x depth x width x 4바이트로 고정이다.
+- 칸이 겹치면 다른 키의 수가 섞여서 실제보다 크게 셀 수는 있어도 작게 세지는 않는다. 한도를 넘은 키는 반드시 걸린다.
+- 한 윈도우에 들어오는 서로 다른 키 수가 width 에 비해 많아질수록 한도 안의 키가 잘못 걸릴 확률이 오른다.
+- 카운트는 AtomicIntegerArray 로만 올리고 락은 쓰지 않는다. 윈도우 교체도 CAS 한 번이다.
+- 해시 seed 는 인스턴스마다 무작위라서, 밖에서 다른 사람의 키와 같은 칸에 떨어지는 키를 미리 골라 잠그기 어렵다.
+직전 윈도우 수는 지금 윈도우가 지난 비율만큼 빼고 더한다. (직전 x 남은 비율 + 현재)
+ */
+public final class SlidingWindowSketch {
+
+    private final int depth;
+    private final int mask;
+    private final long windowMillis;
+    private final long seed1;
+    private final long seed2;
+
+    private final AtomicReference<Window> current;
+
+    public SlidingWindowSketch(int depth, int width, long windowMillis) {
+        if (depth < 1 || width < 1 || windowMillis < 1) {
+            throw new IllegalArgumentException("depth, width, window 는 1 이상이어야 합니다.");
+        }
+        this.depth = depth;
+        // 인덱스를 나머지 대신 비트 마스크로 구하려고 2의 거듭제곱으로 올린다.
+        int roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.mask = roundedWidth - 1;
+        this.windowMillis = windowMillis;
+        this.seed1 = ThreadLocalRandom.current().nextLong();
+        this.seed2 = ThreadLocalRandom.current().nextLong();
+        this.current = new AtomicReference<>(new Window(Long.MIN_VALUE, 0, null));
+    }
+
+    /*
+    key 의 요청을 한 번 세고, 센 뒤의 추정치가 limit 이하면 true.
+    먼저 올리고 읽으므로 동시에 들어와도 limit 보다 많이 통과시키지 않는다.
+    거절된 요청은 올린 칸을 되돌려서 세지 않는다. 막힌 동안 계속 두드려도 풀리는 시점이 늦춰지지 않는다.
+     */
+    public boolean tryAcquire(String key, int limit, long nowMillis) {
+        long epoch = Math.floorDiv(nowMillis, windowMillis);
+        Window window = windowFor(epoch);
+        int[] indexes = indexes(key);
+
+        int estimate = Integer.MAX_VALUE;
+        for (int index : indexes) {
+            estimate = Math.min(estimate, window.counts.incrementAndGet(index));
+        }
+        if (estimate + previousEstimate(window, epoch, indexes, nowMillis) <= limit) {
+            return true;
+        }
+        for (int index : indexes) {
+            window.counts.decrementAndGet(index);
+        }
+        return false;
+    }
+
+    // key 를 한 번 센다. (실패한 시도만 세는 경우처럼 세는 시점과 확인하는 시점이 다를 때)
+    public void add(String key, long nowMillis) {
+        Window window = windowFor(Math.floorDiv(nowMillis, windowMillis));
+        for (int index : indexes(key)) {
+            window.counts.incrementAndGet(index);
+        }
+    }
+
+    // 세지 않고 지금까지의 추정치만 본다. (직전 x 남은 비율 + 현재)
+    public double estimate(String key, long nowMillis) {
+        long epoch = Math.floorDiv(nowMillis, windowMillis);
+        Window window = windowFor(epoch);
+        int[] indexes = indexes(key);
+
+        int estimate = Integer.MAX_VALUE;
+        for (int index : indexes) {
+            estimate = Math.min(estimate, window.counts.get(index));
+        }
+        return estimate + previousEstimate(window, epoch, indexes, nowMillis);
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    // 카운터 배열이 차지하는 바이트 (현재 + 직전 윈도우)
+    public long getMemoryBytes() {
+        return 2L * depth * (mask + 1) * Integer.BYTES;
+    }
+
+    // 행마다 한 칸씩, key 가 떨어지는 칸의 위치
+    private int[] indexes(String key) {
+        long hash = hash(key, seed1);
+        long step = hash(key, seed2) | 1;
+        int[] indexes = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            indexes[row] = row * (mask + 1) + (int) ((hash + row * step) & mask);
+        }
+        return indexes;
+    }
+
+    // 직전 윈도우 추정치 x 지금 윈도우의 남은 비율. 직전 윈도우가 없으면 0
+    private double previousEstimate(Window window, long epoch, int[] indexes, long nowMillis) {
+        Window before = window.prior;
+        if (before == null || before.epoch != epoch - 1) {
+            return 0;
+        }
+        int previous = Integer.MAX_VALUE;
+        for (int index : indexes) {
+            previous = Math.min(previous, before.counts.get(index));
+        }
+        double remaining = 1.0 - (double) Math.floorMod(nowMillis, windowMillis) / windowMillis;
+        return previous * remaining;
+    }
+
+    /*
+    윈도우가 바뀌었으면 새 배열로 교체한다. CAS 에 진 스레드는 이긴 쪽이 넣은 윈도우를 쓴다.
+    교체 직전에 옛 배열에 올린 카운트는 직전 윈도우 쪽에 남으므로 잃지 않는다.
+    직전 윈도우는 새 윈도우가 들고 있고, 그보다 오래된 것은 끊어서 두 개보다 많이 남지 않게 한다.
+     */
+    private Window windowFor(long epoch) {
+        while (true) {
+            Window window = current.get();
+            if (window.epoch >= epoch) {
+                return window;
+            }
+            Window next = new Window(epoch, depth * (mask + 1), window);
+            if (current.compareAndSet(window, next)) {
+                window.prior = null;
+                return next;
+            }
+        }
+    }
+
+    // FNV-1a 에 seed 를 섞고 splitmix64 마무리로 비트를 고르게 편다.
+    private static long hash(String key, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+
+    private static final class Window {
+
+        private final long epoch;
+        private final AtomicIntegerArray counts;
+        private volatile Window prior;
+
+        private Window(long epoch, int size, Window prior) {
+            this.epoch = epoch;
+            this.counts = new AtomicIntegerArray(size);
+            this.prior = prior;
+        }
+    }
+}
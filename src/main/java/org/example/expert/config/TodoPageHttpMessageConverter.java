@@ -0,0 +1,148 @@
+package org.example.expert.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.user.dto.response.UserResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/*
+Page<TodoResponse> 응답을 JsonGenerator 로 바로 쓴다.
+VIA_DTO 모드에서는 Page 를 PagedModel / PageMetadata 로 감싼 뒤 bean serializer 가 row 마다 getter 를 리플렉션으로 호출하는데,
+여기서는 감싸지 않고 필드를 순서대로 쓴다. 결과 JSON 은 VIA_DTO 와 같다. (TodoPageHttpMessageConverterTest)
+쓰기 전용이고, Page<TodoResponse> 가 아닌 타입은 다음 converter(MappingJackson2HttpMessageConverter)로 넘긴다.
+ */
+public class TodoPageHttpMessageConverter extends AbstractGenericHttpMessageConverter<Page<TodoResponse>> {
+
+    private final ObjectMapper objectMapper;
+    // 스프링 부트 기본값(false)이면 JavaTimeModule 과 같은 ISO 문자열을 직접 쓴다.
+    private final boolean datesAsTimestamps;
+
+    public TodoPageHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.datesAsTimestamps = objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Page.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    // 제네릭까지 확인한다. (raw Page 나 다른 content 타입은 기본 converter 가 처리)
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (type == null || !canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType page = ResolvableType.forType(type).as(Page.class);
+        return page != ResolvableType.NONE && page.getGeneric(0).toClass() == TodoResponse.class;
+    }
+
+    @Override
+    protected void writeInternal(Page<TodoResponse> page, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream outputStream = StreamUtils.nonClosing(outputMessage.getBody());
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            // unpaged 는 PageMetadata 처리가 달라서 VIA_DTO 와 같은 경로로 쓴다.
+            if (page.getPageable().isUnpaged()) {
+                objectMapper.writeValue(generator, new PagedModel<>(page));
+                return;
+            }
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            for (TodoResponse todo : page.getContent()) {
+                writeTodo(generator, todo);
+            }
+            generator.writeEndArray();
+
+            generator.writeObjectFieldStart("page");
+            generator.writeNumberField("size", page.getSize());
+            generator.writeNumberField("number", page.getNumber());
+            generator.writeNumberField("totalElements", page.getTotalElements());
+            generator.writeNumberField("totalPages", page.getTotalPages());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    // TodoResponse 의 Jackson 프로퍼티 순서 그대로 쓴다. (필드 선언 순서, getter 만 있는 weatherPending 은 마지막)
+    private void writeTodo(JsonGenerator generator, TodoResponse todo) throws IOException {
+        generator.writeStartObject();
+        writeLong(generator, "id", todo.getId());
+        generator.writeStringField("title", todo.getTitle());
+        generator.writeStringField("contents", todo.getContents());
+        generator.writeStringField("weather", todo.getWeather());
+
+        UserResponse user = todo.getUser();
+        if (user == null) {
+            generator.writeNullField("user");
+        } else {
+            generator.writeObjectFieldStart("user");
+            writeLong(generator, "id", user.getId());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeEndObject();
+        }
+
+        writeDateTime(generator, "createdAt", todo.getCreatedAt());
+        writeDateTime(generator, "modifiedAt", todo.getModifiedAt());
+        generator.writeBooleanField("weatherPending", todo.isWeatherPending());
+        generator.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator generator, String name, @Nullable Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private void writeDateTime(JsonGenerator generator, String name, @Nullable LocalDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else if (datesAsTimestamps) {
+            objectMapper.writeValue(generator, value);
+        } else {
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+    }
+
+    @Override
+    public Page<TodoResponse> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Page<TodoResponse> 는 읽을 수 없습니다.", inputMessage);
+    }
+
+    @Override
+    protected Page<TodoResponse> readInternal(Class<? extends Page<TodoResponse>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Page<TodoResponse> 는 읽을 수 없습니다.", inputMessage);
+    }
+}
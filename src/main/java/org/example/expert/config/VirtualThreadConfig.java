@@ -0,0 +1,52 @@
+package org.example.expert.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/*
+가상 스레드 모드 (spring.threads.virtual.enabled=true, Java 21 이상)
+Tomcat 요청 처리, @Async / MVC 비동기, @Scheduled 는 스프링 부트가 가상 스레드로 바꿔준다.
+여기서는 그에 맞춰 커넥션 풀만 조정한다.
+
+요청 스레드 수(Tomcat 200)가 더 이상 DB 동시 접근을 막아주지 않으므로 커넥션 풀이 실제 동시성 제한이 된다.
+- 풀 크기는 DB 기준 (코어 수 * 2 + 1) 으로 두고, 가상 스레드는 커넥션을 기다리게 한다.
+- 순간적으로 몰릴 때 커넥션 생성이 겹치지 않도록 최소 유휴 커넥션을 최대치와 같게 고정한다.
+spring.datasource.hikari.* 로 직접 설정한 값은 건드리지 않는다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari.";
+
+    @Bean
+    public static BeanPostProcessor hikariVirtualThreadTuner(Environment environment) {
+        int defaultPoolSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        int poolSize = environment.getProperty("datasource.virtual-threads.max-pool-size", Integer.class, defaultPoolSize);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource dataSource)) {
+                    return bean;
+                }
+                if (!environment.containsProperty(HIKARI_PREFIX + "maximum-pool-size")) {
+                    dataSource.setMaximumPoolSize(poolSize);
+                }
+                if (!environment.containsProperty(HIKARI_PREFIX + "minimum-idle")) {
+                    dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+                }
+                log.info("가상 스레드 모드 커넥션 풀 설정. maximumPoolSize: {}, minimumIdle: {}",
+                        dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle());
+                return bean;
+            }
+        };
+    }
+}
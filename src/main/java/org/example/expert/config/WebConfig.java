@@ -0,0 +1,33 @@
+package org.example.expert.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    // StreamingResponseBody(todo export) 는 비동기로 처리되므로 큰 export 가 서블릿 기본 타임아웃에 끊기지 않게 한다.
+    @Value("${web.async.timeout:600000}")
+    private long asyncTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout);
+    }
+
+    // Page<TodoResponse> 는 기본 Jackson converter 보다 먼저 잡아서 PagedModel 없이 바로 쓴다.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new TodoPageHttpMessageConverter(objectMapper));
+    }
+}
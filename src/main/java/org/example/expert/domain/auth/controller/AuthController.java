@@ -1,12 +1,16 @@
 package org.example.expert.domain.auth.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.expert.config.SigninRateLimiter;
 import org.example.expert.domain.auth.dto.request.SigninRequest;
 import org.example.expert.domain.auth.dto.request.SignupRequest;
 import org.example.expert.domain.auth.dto.response.SigninResponse;
 import org.example.expert.domain.auth.dto.response.SignupResponse;
+import org.example.expert.domain.auth.exception.AuthException;
 import org.example.expert.domain.auth.service.AuthService;
+import org.example.expert.domain.common.exception.InvalidRequestException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthService authService;
+    private final SigninRateLimiter signinRateLimiter;
 
     @PostMapping("/auth/signup")
     public SignupResponse signup(@Valid @RequestBody SignupRequest signupRequest) {
@@ -23,7 +28,15 @@ public class AuthController {
     }
 
     @PostMapping("/auth/signin")
-    public SigninResponse signin(@Valid @RequestBody SigninRequest signinRequest) {
-        return authService.signin(signinRequest);
+    public SigninResponse signin(@Valid @RequestBody SigninRequest signinRequest, HttpServletRequest request) {
+        // 유저 조회, bcrypt 전에 거절한다. IP 는 프록시 헤더를 믿지 않고 연결된 주소를 쓴다.
+        signinRateLimiter.check(signinRequest.getEmail(), request.getRemoteAddr());
+        try {
+            return authService.signin(signinRequest);
+        } catch (AuthException | InvalidRequestException e) {
+            // 틀린 비밀번호, 가입되지 않은 이메일만 이메일 한도에 센다.
+            signinRateLimiter.recordFailure(signinRequest.getEmail());
+            throw e;
+        }
     }
 }
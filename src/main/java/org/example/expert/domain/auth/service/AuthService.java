@@ -12,10 +12,17 @@ import org.example.expert.domain.auth.exception.AuthException;
 import org.example.expert.domain.common.exception.InvalidRequestException;
 import org.example.expert.domain.user.entity.User;
 import org.example.expert.domain.user.enums.UserRole;
+import org.example.expert.domain.user.event.UserChangedEvent;
 import org.example.expert.domain.user.repository.UserRepository;
+import org.example.expert.domain.user.service.RegisteredEmailFilter;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -25,6 +32,9 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final PasswordRehasher passwordRehasher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     @Transactional
     public SignupResponse signup(SignupRequest signupRequest) {
@@ -35,8 +45,12 @@ public class AuthService {
             throw new InvalidRequestException("비밀번호를 입력해주세요.");
         }
 
-        if (userRepository.existsByEmail(signupRequest.getEmail())) {
-            throw new InvalidRequestException("이미 존재하는 이메일입니다.");
+        // 확실히 없는 이메일이면 조회 없이 바로 insert 한다. 중복은 결국 unique 제약이 막는다.
+        if (registeredEmailFilter.mightContain(signupRequest.getEmail())) {
+            if (userRepository.existsByEmail(signupRequest.getEmail())) {
+                throw new InvalidRequestException("이미 존재하는 이메일입니다.");
+            }
+            registeredEmailFilter.recordFalsePositive();
         }
 
         log.info("입력된 원본 비밀번호: {}", signupRequest.getPassword());
@@ -54,7 +68,18 @@ public class AuthService {
         );
 
         log.info("생성된 유저 객체: {}", newUser);
-        User savedUser = userRepository.save(newUser);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 같은 이메일로 가입했거나, 필터에 아직 없던 이메일. 다른 제약 위반은 그대로 던진다.
+            if (isEmailConflict(e)) {
+                throw new InvalidRequestException("이미 존재하는 이메일입니다.");
+            }
+            throw e;
+        }
+        registeredEmailFilter.add(savedUser.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), true));
 
         log.info("저장된 유저 객체 정보 - Id: {}, Email:{}, Password: {}, Nickname: {}",
                 savedUser.getId(),savedUser.getEmail(),savedUser.getPassword(),savedUser.getNickname());
@@ -71,13 +96,14 @@ public class AuthService {
 
     @Transactional
     public SigninResponse signin(SigninRequest signinRequest) {
-        User user = userRepository.findByEmail(signinRequest.getEmail()).orElseThrow(
+        User user = userRepository.findByEmailNaturalId(signinRequest.getEmail()).orElseThrow(
                 () -> new InvalidRequestException("가입되지 않은 유저입니다."));
 
         // 로그인 시 이메일과 비밀번호가 일치하지 않을 경우 401을 반환합니다.
         if (!passwordEncoder.matches(signinRequest.getPassword(), user.getPassword())) {
             throw new AuthException("잘못된 비밀번호입니다.");
         }
+        passwordRehasher.rehashIfNeeded(user.getId(), signinRequest.getPassword(), user.getPassword());
 
         String bearerToken = jwtUtil.createToken(user.getId(),
                 user.getEmail(),
@@ -86,4 +112,16 @@ public class AuthService {
 
         return new SigninResponse(bearerToken, user.getNickname());
     }
+
+    // DB 마다 제약 이름 앞뒤에 스키마/테이블/인덱스 정보가 붙어서 (MySQL: users.uk_users_email) 포함 여부로 본다.
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraintName = violation.getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
 }
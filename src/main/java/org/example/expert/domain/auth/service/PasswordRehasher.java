@@ -0,0 +1,110 @@
+package org.example.expert.domain.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.config.PasswordEncoder;
+import org.example.expert.domain.common.exception.ServiceUnavailableException;
+import org.example.expert.domain.user.event.UserChangedEvent;
+import org.example.expert.domain.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+로그인에 성공했을 때 저장된 해시의 cost 가 지금 설정보다 낮으면 새 cost 로 다시 해시한다.
+높은 cost 는 낮추지 않는다. (장비마다 보정한 cost 가 달라도 인스턴스끼리 서로 되돌리며 재해시하지 않게)
+로그인 응답은 기다리지 않고, 해시 풀에서 해시한 뒤 저장된 해시가 그대로일 때만 바꾼다.
+해시 풀이 가득 차 있으면 이번에는 건너뛴다. (다음 로그인 때 다시 시도)
+저장(SELECT ... FOR UPDATE)은 해시 풀이 아니라 따로 둔 작은 풀에서 한다. DB / 락 대기가 로그인 해시 스레드를 잡지 않도록.
+저장 풀의 큐가 차도 건너뛴다. 바꾼 뒤에는 UserChangedEvent 를 발행해서 커밋 후 shard 복사본도 바뀐다.
+ */
+@Slf4j
+@Component
+public class PasswordRehasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor updateExecutor;
+
+    private final Counter rehashedCounter;
+    private final Counter skippedCounter;
+
+    public PasswordRehasher(PasswordEncoder passwordEncoder,
+                            UserRepository userRepository,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${password.rehash.threads:2}") int threads,
+                            @Value("${password.rehash.queue-capacity:1000}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.updateExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.rehashedCounter = meterRegistry.counter("password.rehash", "result", "rehashed");
+        this.skippedCounter = meterRegistry.counter("password.rehash", "result", "skipped");
+    }
+
+    // rawPassword 는 currentHash 로 검증이 끝난 비밀번호여야 한다.
+    public void rehashIfNeeded(Long userId, String rawPassword, String currentHash) {
+        if (!passwordEncoder.needsRehash(currentHash)) {
+            return;
+        }
+
+        try {
+            passwordEncoder.encodeAsync(rawPassword)
+                    .thenAcceptAsync(newHash -> {
+                        Boolean updated = transactionTemplate.execute(status -> userRepository.findByIdForUpdate(userId)
+                                .filter(user -> user.getPassword().equals(currentHash))
+                                .map(user -> {
+                                    user.changePassword(newHash);
+                                    eventPublisher.publishEvent(new UserChangedEvent(userId, false));
+                                    return true;
+                                })
+                                .orElse(false));
+                        if (Boolean.TRUE.equals(updated)) {
+                            rehashedCounter.increment();
+                            log.debug("비밀번호 재해시 완료. userId: {}, cost: {}", userId, passwordEncoder.getCost());
+                        } else {
+                            skippedCounter.increment();
+                        }
+                    }, updateExecutor)
+                    // 저장 풀의 큐가 차서 거절된 경우(RejectedExecutionException)도 여기로 온다.
+                    .exceptionally(e -> {
+                        skippedCounter.increment();
+                        log.warn("비밀번호 재해시 실패. userId: {}", userId, e);
+                        return null;
+                    });
+        } catch (ServiceUnavailableException e) {
+            skippedCounter.increment();
+            log.debug("해시 풀이 가득 차서 비밀번호 재해시를 건너뜁니다. userId: {}", userId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updateExecutor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-rehash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
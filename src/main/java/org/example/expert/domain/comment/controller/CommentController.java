@@ -11,6 +11,7 @@ import org.example.expert.domain.common.dto.AuthUser;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,8 +30,12 @@ public class CommentController {
         return ResponseEntity.ok(commentService.saveComment(authUser, todoId, commentSaveRequest));
     }
 
+    // 바뀌지 않았으면 집계 쿼리 하나로 304 를 내려준다.
     @GetMapping("/todos/{todoId}/comments")
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable long todoId) {
+    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable long todoId, WebRequest webRequest) {
+        if (commentService.getCommentsVersion(todoId).checkNotModified(webRequest)) {
+            return null;
+        }
         return ResponseEntity.ok(commentService.getComments(todoId));
     }
 }
@@ -11,4 +11,12 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.todo.id = :todoId")
     List<Comment> findByTodoIdWithUser(@Param("todoId") Long todoId);
+
+    // 조건부 GET 검증자용 (count, max(modifiedAt), max(id)). 집계라 댓글이 없어도 한 row 가 나온다.
+    @Query("SELECT COUNT(c), MAX(c.modifiedAt), MAX(c.id) FROM Comment c WHERE c.todo.id = :todoId")
+    List<Object[]> findVersionRow(@Param("todoId") long todoId);
+
+    // export 용 (todoId, id, contents, userId, email). 엔티티를 만들지 않는다.
+    @Query("SELECT c.todo.id, c.id, c.contents, u.id, u.email FROM Comment c JOIN c.user u WHERE c.todo.id IN :todoIds ORDER BY c.id")
+    List<Object[]> findExportRowsByTodoIds(@Param("todoIds") List<Long> todoIds);
 }
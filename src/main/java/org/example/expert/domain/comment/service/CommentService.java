@@ -7,6 +7,7 @@ import org.example.expert.domain.comment.dto.response.CommentSaveResponse;
 import org.example.expert.domain.comment.entity.Comment;
 import org.example.expert.domain.comment.repository.CommentRepository;
 import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.common.dto.ResourceVersion;
 import org.example.expert.domain.common.exception.InvalidRequestException;
 import org.example.expert.domain.todo.entity.Todo;
 import org.example.expert.domain.todo.repository.TodoRepository;
@@ -15,6 +16,7 @@ import org.example.expert.domain.user.entity.User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -48,6 +50,13 @@ public class CommentService {
         );
     }
 
+    // 댓글 목록 조건부 요청용. 댓글은 추가만 되므로 개수 / 마지막 수정 시각 / 마지막 id 가 같으면 목록도 같다.
+    public ResourceVersion getCommentsVersion(long todoId) {
+        Object[] row = commentRepository.findVersionRow(todoId).get(0);
+        LocalDateTime lastModified = (LocalDateTime) row[1];
+        return ResourceVersion.of(lastModified, "comments", todoId, row[0], lastModified, row[2]);
+    }
+
     public List<CommentResponse> getComments(long todoId) {
         // join 적용된 jpql 사용
         List<Comment> commentList = commentRepository.findByTodoIdWithUser(todoId);
@@ -0,0 +1,48 @@
+package org.example.expert.domain.common.dto;
+
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.StringJoiner;
+
+/*
+조건부 GET 용 검증자 (strong ETag / Last-Modified).
+응답 내용을 결정하는 값(수정 시각, 자식 목록 버전 등)만 가볍게 조회해서 만들고, 304 면 응답 DTO 를 만들지 않는다.
+ */
+@Getter
+public class ResourceVersion {
+
+    private final String etag;
+    // null 이면 Last-Modified 없이 ETag 로만 비교한다.
+    private final Long lastModifiedMillis;
+
+    private ResourceVersion(String etag, Long lastModifiedMillis) {
+        this.etag = etag;
+        this.lastModifiedMillis = lastModifiedMillis;
+    }
+
+    // parts 가 모두 같으면 응답 본문도 바이트 단위로 같아야 한다.
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        StringJoiner joiner = new StringJoiner("|");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        // auditing 은 서버 기본 시간대의 LocalDateTime 으로 저장한다.
+        Long lastModifiedMillis = lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : null;
+        return new ResourceVersion(etag, lastModifiedMillis);
+    }
+
+    // 바뀌지 않았으면 304 를 세팅하고 true. 바뀌었으면 ETag / Last-Modified 헤더만 세팅하고 false.
+    public boolean checkNotModified(WebRequest request) {
+        return lastModifiedMillis != null
+                ? request.checkNotModified(etag, lastModifiedMillis)
+                : request.checkNotModified(etag);
+    }
+}
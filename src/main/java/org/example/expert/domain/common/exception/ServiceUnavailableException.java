@@ -0,0 +1,9 @@
+package org.example.expert.domain.common.exception;
+
+// 처리할 여유가 없어서 바로 거절한 요청. 503 으로 응답하고 클라이언트가 잠시 후 다시 시도하게 한다.
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
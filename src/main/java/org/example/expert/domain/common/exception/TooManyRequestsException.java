@@ -0,0 +1,15 @@
+package org.example.expert.domain.common.exception;
+
+import lombok.Getter;
+
+// 같은 키로 너무 자주 요청해서 거절한 요청. 429 로 응답하고 retryAfterSeconds 뒤에 다시 시도하게 한다.
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -11,6 +11,7 @@ import org.example.expert.domain.manager.service.ManagerService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,8 +30,12 @@ public class ManagerController {
         return ResponseEntity.ok(managerService.saveManager(authUser, todoId, managerSaveRequest));
     }
 
+    // 바뀌지 않았으면 담당자 버전만 읽고 304 를 내려준다.
     @GetMapping("/todos/{todoId}/managers")
-    public ResponseEntity<List<ManagerResponse>> getMembers(@PathVariable long todoId) {
+    public ResponseEntity<List<ManagerResponse>> getMembers(@PathVariable long todoId, WebRequest webRequest) {
+        if (managerService.getManagersVersion(todoId).checkNotModified(webRequest)) {
+            return null;
+        }
         return ResponseEntity.ok(managerService.getManagers(todoId));
     }
 
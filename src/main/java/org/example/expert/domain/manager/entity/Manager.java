@@ -12,8 +12,10 @@ import org.example.expert.domain.user.entity.User;
 @Table(name = "managers")
 public class Manager {
 
+    // todo 와 같이 batch insert 되도록 pooled 시퀀스 사용 (Todo 참고)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "managers_seq")
+    @SequenceGenerator(name = "managers_seq", sequenceName = "managers_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
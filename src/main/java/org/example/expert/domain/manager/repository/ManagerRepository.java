@@ -10,4 +10,8 @@ import java.util.List;
 public interface ManagerRepository extends JpaRepository<Manager, Long> {
     @Query("SELECT m FROM Manager m JOIN FETCH m.user WHERE m.todo.id = :todoId")
     List<Manager> findByTodoIdWithUser(@Param("todoId") Long todoId);
+
+    // export 용 (todoId, id, userId, email). 엔티티를 만들지 않는다.
+    @Query("SELECT m.todo.id, m.id, u.id, u.email FROM Manager m JOIN m.user u WHERE m.todo.id IN :todoIds ORDER BY m.id")
+    List<Object[]> findExportRowsByTodoIds(@Param("todoIds") List<Long> todoIds);
 }
@@ -2,6 +2,7 @@ package org.example.expert.domain.manager.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.common.dto.ResourceVersion;
 import org.example.expert.domain.common.exception.InvalidRequestException;
 import org.example.expert.domain.manager.dto.request.ManagerSaveRequest;
 import org.example.expert.domain.manager.dto.response.ManagerResponse;
@@ -10,6 +11,7 @@ import org.example.expert.domain.manager.entity.Manager;
 import org.example.expert.domain.manager.repository.ManagerRepository;
 import org.example.expert.domain.todo.entity.Todo;
 import org.example.expert.domain.todo.repository.TodoRepository;
+import org.example.expert.domain.todo.service.TodoResponseCache;
 import org.example.expert.domain.user.dto.response.UserResponse;
 import org.example.expert.domain.user.entity.User;
 import org.example.expert.domain.user.repository.UserRepository;
@@ -28,6 +30,7 @@ public class ManagerService {
     private final ManagerRepository managerRepository;
     private final UserRepository userRepository;
     private final TodoRepository todoRepository;
+    private final TodoResponseCache todoResponseCache;
 
     @Transactional
     public ManagerSaveResponse saveManager(AuthUser authUser, long todoId, ManagerSaveRequest managerSaveRequest) {
@@ -49,6 +52,8 @@ public class ManagerService {
 
         Manager newManagerUser = new Manager(managerUser, todo);
         Manager savedManagerUser = managerRepository.save(newManagerUser);
+        todoRepository.increaseManagersVersion(todoId);
+        todoResponseCache.invalidateAfterCommit(todoId);
 
         return new ManagerSaveResponse(
                 savedManagerUser.getId(),
@@ -56,6 +61,13 @@ public class ManagerService {
         );
     }
 
+    // 담당자 목록 조건부 요청용. managers 에는 수정 시각이 없어서 todo 의 담당자 버전만 본다.
+    public ResourceVersion getManagersVersion(long todoId) {
+        Long version = todoRepository.findManagersVersion(todoId)
+                .orElseThrow(() -> new InvalidRequestException("Todo not found"));
+        return ResourceVersion.of(null, "managers", todoId, version);
+    }
+
     public List<ManagerResponse> getManagers(long todoId) {
         Todo todo = todoRepository.findById(todoId)
                 .orElseThrow(() -> new InvalidRequestException("Todo not found"));
@@ -92,5 +104,7 @@ public class ManagerService {
         }
 
         managerRepository.delete(manager);
+        todoRepository.increaseManagersVersion(todoId);
+        todoResponseCache.invalidateAfterCommit(todoId);
     }
 }
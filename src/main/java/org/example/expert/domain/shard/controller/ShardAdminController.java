@@ -0,0 +1,27 @@
+package org.example.expert.domain.shard.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.expert.domain.shard.dto.request.ShardMoveRequest;
+import org.example.expert.domain.shard.dto.response.ShardMoveResponse;
+import org.example.expert.domain.shard.service.ShardRebalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.shard.enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private final ShardRebalancer shardRebalancer;
+
+    // 유저의 데이터를 다른 shard 로 옮긴다.
+    @PostMapping("/admin/shards/users/{userId}")
+    public ResponseEntity<ShardMoveResponse> moveUser(@PathVariable long userId, @Valid @RequestBody ShardMoveRequest shardMoveRequest) {
+        return ResponseEntity.ok(shardRebalancer.moveUser(userId, shardMoveRequest.getShard()));
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.expert.domain.shard.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardMoveRequest {
+
+    @NotNull
+    private Integer shard;
+}
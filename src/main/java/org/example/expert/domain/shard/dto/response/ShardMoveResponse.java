@@ -0,0 +1,19 @@
+package org.example.expert.domain.shard.dto.response;
+
+import lombok.Getter;
+
+@Getter
+public class ShardMoveResponse {
+
+    private final Long userId;
+    private final int fromShard;
+    private final int toShard;
+    private final int movedTodos;
+
+    public ShardMoveResponse(Long userId, int fromShard, int toShard, int movedTodos) {
+        this.userId = userId;
+        this.fromShard = fromShard;
+        this.toShard = toShard;
+        this.movedTodos = movedTodos;
+    }
+}
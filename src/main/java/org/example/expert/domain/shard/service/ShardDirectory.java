@@ -0,0 +1,222 @@
+package org.example.expert.domain.shard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.config.ShardContext;
+import org.example.expert.config.ShardDataSources;
+import org.example.expert.config.ShardKeys;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/*
+유저 -> shard, todo -> shard 위치 정보. global shard(0) 의 user_shards / todo_shards 테이블에 둔다.
+- 유저: 가입할 때 userId % shard 수 로 배정한다. 기록이 없는 유저(샤딩 전에 가입)는 shard 0 에 있다.
+- todo: id 에 들어있는 shard 가 기본이고, 다른 shard 로 옮겨진 todo 만 todo_shards 에 기록한다.
+JPA 세션과 섞이지 않도록 JDBC 로 직접 읽고 쓴다.
+유저 위치는 메모리에 캐시하므로, 여러 인스턴스로 운영할 때는 rebalance 후 다른 인스턴스의 캐시를 비워야 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datasource.shard.enabled", havingValue = "true")
+public class ShardDirectory {
+
+    private final ShardDataSources shards;
+    private final JdbcTemplate global;
+    private final TransactionTemplate globalTransaction;
+
+    private final ConcurrentHashMap<Long, Integer> userShards = new ConcurrentHashMap<>();
+    private final Set<Long> movingUsers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> movingTodos = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Integer> userRequests = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Integer> todoRequests = new ConcurrentHashMap<>();
+    private volatile boolean hasRelocatedTodos;
+
+    public ShardDirectory(ShardDataSources shards) {
+        this.shards = shards;
+        this.global = new JdbcTemplate(shards.get(ShardContext.GLOBAL_SHARD));
+        this.globalTransaction = new TransactionTemplate(new DataSourceTransactionManager(shards.get(ShardContext.GLOBAL_SHARD)));
+
+        global.execute("CREATE TABLE IF NOT EXISTS user_shards (user_id BIGINT PRIMARY KEY, shard INT NOT NULL)");
+        global.execute("CREATE TABLE IF NOT EXISTS todo_shards (todo_id BIGINT PRIMARY KEY, shard INT NOT NULL)");
+        this.hasRelocatedTodos = Boolean.TRUE.equals(global.queryForObject("SELECT EXISTS (SELECT 1 FROM todo_shards)", Boolean.class));
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public int shardOfUser(long userId) {
+        return userShards.computeIfAbsent(userId, id -> {
+            try {
+                return global.queryForObject("SELECT shard FROM user_shards WHERE user_id = ?", Integer.class, id);
+            } catch (EmptyResultDataAccessException e) {
+                return ShardContext.GLOBAL_SHARD;
+            }
+        });
+    }
+
+    public int shardOfTodo(long todoId) {
+        if (hasRelocatedTodos) {
+            List<Integer> relocated = global.queryForList("SELECT shard FROM todo_shards WHERE todo_id = ?", Integer.class, todoId);
+            if (!relocated.isEmpty()) {
+                return relocated.get(0);
+            }
+        }
+        return ShardKeys.shardOf(todoId);
+    }
+
+    // 새 유저를 shard 에 배정한다. 이미 배정된 유저는 그대로 둔다.
+    public int assignNewUser(long userId) {
+        assignNewUsers(List.of(userId));
+        return shardOfUser(userId);
+    }
+
+    // 여러 유저를 한 트랜잭션, JDBC batch 한 번으로 배정한다. (일괄 import) userIds 는 ShardRows.CHUNK_SIZE 이하
+    public void assignNewUsers(List<Long> userIds) {
+        assignMissing(userIds, this::homeShardOf);
+    }
+
+    /*
+    배정이 늦어진 유저(가입 직후 복사 실패)는 그동안 shard 0 에서 요청을 받았으므로 우선 shard 0 으로 기록한다.
+    라우팅은 그대로이므로 그 사이 만든 todo 가 안 보이는 일이 없다. 원래 shard 로는 ShardRebalancer 로 옮긴다.
+     */
+    public void assignGlobalShard(List<Long> userIds) {
+        assignMissing(userIds, userId -> ShardContext.GLOBAL_SHARD);
+    }
+
+    public int homeShardOf(long userId) {
+        return (int) Math.floorMod(userId, (long) shards.size());
+    }
+
+    private void assignMissing(List<Long> userIds, ToIntFunction<Long> shardOf) {
+        globalTransaction.executeWithoutResult(status -> {
+            Set<Long> existing = new HashSet<>(global.queryForList(
+                    "SELECT user_id FROM user_shards WHERE user_id IN (" + ShardRows.placeholders(userIds.size()) + ")",
+                    Long.class, userIds.toArray()));
+            List<Long> assigned = userIds.stream().filter(userId -> !existing.contains(userId)).toList();
+            global.batchUpdate("INSERT INTO user_shards (user_id, shard) VALUES (?, ?)", assigned, assigned.size(),
+                    (ps, userId) -> {
+                        ps.setLong(1, userId);
+                        ps.setInt(2, shardOf.applyAsInt(userId));
+                    });
+        });
+        userIds.forEach(userShards::remove);
+    }
+
+    // 유저와 그 유저의 todo 위치를 한 번에 바꾼다.
+    void relocate(long userId, int shard, List<Long> todoIds) {
+        globalTransaction.executeWithoutResult(status -> {
+            global.update("DELETE FROM user_shards WHERE user_id = ?", userId);
+            global.update("INSERT INTO user_shards (user_id, shard) VALUES (?, ?)", userId, shard);
+
+            for (List<Long> chunk : ShardRows.chunks(todoIds)) {
+                global.batchUpdate("DELETE FROM todo_shards WHERE todo_id = ?", chunk, chunk.size(),
+                        (ps, todoId) -> ps.setLong(1, todoId));
+                // 원래 id 가 가리키는 shard 로 돌아온 todo 는 기록할 필요가 없다.
+                List<Long> relocated = chunk.stream().filter(todoId -> ShardKeys.shardOf(todoId) != shard).toList();
+                global.batchUpdate("INSERT INTO todo_shards (todo_id, shard) VALUES (?, ?)", relocated, relocated.size(),
+                        (ps, todoId) -> {
+                            ps.setLong(1, todoId);
+                            ps.setInt(2, shard);
+                        });
+            }
+        });
+        if (!todoIds.isEmpty()) {
+            hasRelocatedTodos = true;
+        }
+        userShards.put(userId, shard);
+    }
+
+    // 옮기는 중에는 그 유저의 요청, 그 유저의 todo 로 들어온 요청을 받지 않는다.
+    boolean lock(long userId) {
+        return movingUsers.add(userId);
+    }
+
+    void lockTodos(Collection<Long> todoIds) {
+        movingTodos.addAll(todoIds);
+    }
+
+    void unlock(long userId, Collection<Long> todoIds) {
+        movingTodos.removeAll(todoIds);
+        movingUsers.remove(userId);
+    }
+
+    public boolean isMoving(long userId) {
+        return movingUsers.contains(userId);
+    }
+
+    public boolean isTodoMoving(long todoId) {
+        return movingTodos.contains(todoId);
+    }
+
+    /*
+    ShardFilter 가 요청마다 enter / exit 를 부른다. 옮기는 중이면 들어가지 않고 false 를 돌려준다.
+    먼저 세고 나서 옮기는 중인지 보므로, lock 한 뒤 awaitRequests 가 이미 들어온 요청을 놓치는 일이 없다.
+     */
+    public boolean enterUser(long userId) {
+        return enter(userRequests, userId, movingUsers);
+    }
+
+    public void exitUser(long userId) {
+        exit(userRequests, userId);
+    }
+
+    public boolean enterTodo(long todoId) {
+        return enter(todoRequests, todoId, movingTodos);
+    }
+
+    public void exitTodo(long todoId) {
+        exit(todoRequests, todoId);
+    }
+
+    // lock 하기 전에 들어온 요청이 모두 끝날 때까지 기다린다. 시간 안에 끝나지 않으면 false
+    boolean awaitUserRequests(long userId, long timeoutMillis) {
+        return awaitRequests(userRequests, List.of(userId), timeoutMillis);
+    }
+
+    boolean awaitTodoRequests(Collection<Long> todoIds, long timeoutMillis) {
+        return awaitRequests(todoRequests, todoIds, timeoutMillis);
+    }
+
+    private static boolean enter(ConcurrentHashMap<Long, Integer> requests, long key, Set<Long> moving) {
+        requests.merge(key, 1, Integer::sum);
+        if (moving.contains(key)) {
+            exit(requests, key);
+            return false;
+        }
+        return true;
+    }
+
+    private static void exit(ConcurrentHashMap<Long, Integer> requests, long key) {
+        requests.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static boolean awaitRequests(Map<Long, Integer> requests, Collection<Long> keys, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Long key : keys) {
+            while (requests.containsKey(key)) {
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
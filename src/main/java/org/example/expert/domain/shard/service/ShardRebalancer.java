@@ -0,0 +1,124 @@
+package org.example.expert.domain.shard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.config.ShardDataSources;
+import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.common.exception.ServerException;
+import org.example.expert.domain.shard.dto.response.ShardMoveResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+/*
+유저 한 명의 데이터(todos, 그 todo 의 managers / comments, todo_counts)를 다른 shard 로 옮긴다.
+1. 옮기는 동안 그 유저와 그 유저의 todo 로 들어오는 요청을 막고(ShardFilter 가 503), 이미 들어와 있던 요청이 끝나기를 기다린다.
+   drain-timeout 안에 끝나지 않으면 아무것도 옮기지 않고 실패한다.
+2. target 에 복사하고, 같은 트랜잭션 안에서 source 와 row 수가 같은지 확인한다.
+   이전에 중간에 실패한 복사본이 있으면 지우고 다시 넣으므로 여러 번 실행해도 된다.
+3. 위치 정보를 바꾼다. 이후 요청은 target 으로 간다.
+4. source 에서 지운다.
+todo / manager id 는 그대로 두고, comment id 는 target 에서 새로 받는다. (comment id 로 조회하는 곳이 없다)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "datasource.shard.enabled", havingValue = "true")
+public class ShardRebalancer {
+
+    private static final String USER_TODOS = "todo_id IN (SELECT id FROM todos WHERE user_id = ?)";
+
+    private final ShardDataSources shards;
+    private final ShardDirectory shardDirectory;
+    private final long drainTimeoutMillis;
+
+    public ShardRebalancer(ShardDataSources shards,
+                           ShardDirectory shardDirectory,
+                           @Value("${datasource.shard.rebalance.drain-timeout:10000}") long drainTimeoutMillis) {
+        this.shards = shards;
+        this.shardDirectory = shardDirectory;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    public ShardMoveResponse moveUser(long userId, int targetShard) {
+        if (targetShard < 0 || targetShard >= shards.size()) {
+            throw new InvalidRequestException("존재하지 않는 shard 입니다: " + targetShard);
+        }
+        int sourceShard = shardDirectory.shardOfUser(userId);
+        if (sourceShard == targetShard) {
+            return new ShardMoveResponse(userId, sourceShard, targetShard, 0);
+        }
+        if (!shardDirectory.lock(userId)) {
+            throw new InvalidRequestException("이미 다른 shard 로 옮기는 중인 유저입니다.");
+        }
+
+        List<Long> todoIds = List.of();
+        try {
+            DataSource source = shards.get(sourceShard);
+            DataSource target = shards.get(targetShard);
+            JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+            JdbcTemplate targetJdbc = new JdbcTemplate(target);
+
+            // 유저 요청이 끝나야 그 요청이 만든 todo 까지 목록에 들어온다.
+            awaitDrained(shardDirectory.awaitUserRequests(userId, drainTimeoutMillis));
+            todoIds = sourceJdbc.queryForList("SELECT id FROM todos WHERE user_id = ?", Long.class, userId);
+            shardDirectory.lockTodos(todoIds);
+            awaitDrained(shardDirectory.awaitTodoRequests(todoIds, drainTimeoutMillis));
+
+            inTransaction(target, () -> {
+                deleteUserRows(targetJdbc, userId);
+                ShardRows.copy(sourceJdbc, targetJdbc, "todos", "user_id = ?", Set.of(), userId);
+                ShardRows.copy(sourceJdbc, targetJdbc, "managers", USER_TODOS, Set.of(), userId);
+                ShardRows.copy(sourceJdbc, targetJdbc, "comments", USER_TODOS, Set.of("id"), userId);
+                ShardRows.copy(sourceJdbc, targetJdbc, "todo_counts", "user_id = ?", Set.of(), userId);
+                verifyCopied(sourceJdbc, targetJdbc, userId);
+            });
+
+            shardDirectory.relocate(userId, targetShard, todoIds);
+
+            inTransaction(source, () -> deleteUserRows(sourceJdbc, userId));
+
+            log.info("유저 shard 이동 완료. userId: {}, {} -> {}, todo: {}건", userId, sourceShard, targetShard, todoIds.size());
+            return new ShardMoveResponse(userId, sourceShard, targetShard, todoIds.size());
+        } finally {
+            shardDirectory.unlock(userId, todoIds);
+        }
+    }
+
+    private static void awaitDrained(boolean drained) {
+        if (!drained) {
+            throw new ServerException("진행 중인 요청이 끝나지 않아 옮기지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    // source 를 지우기 전에, 복사본의 row 수가 source 와 같은지 본다. 다르면 target 트랜잭션을 되돌린다.
+    private static void verifyCopied(JdbcTemplate sourceJdbc, JdbcTemplate targetJdbc, long userId) {
+        for (String countSql : List.of(
+                "SELECT COUNT(*) FROM todos WHERE user_id = ?",
+                "SELECT COUNT(*) FROM managers WHERE " + USER_TODOS,
+                "SELECT COUNT(*) FROM comments WHERE " + USER_TODOS,
+                "SELECT COUNT(*) FROM todo_counts WHERE user_id = ?")) {
+            Long expected = sourceJdbc.queryForObject(countSql, Long.class, userId);
+            Long copied = targetJdbc.queryForObject(countSql, Long.class, userId);
+            if (!expected.equals(copied)) {
+                throw new ServerException("shard 이동 중 복사한 row 수가 다릅니다. " + countSql + " source: " + expected + ", target: " + copied);
+            }
+        }
+    }
+
+    private static void deleteUserRows(JdbcTemplate jdbcTemplate, long userId) {
+        jdbcTemplate.update("DELETE FROM comments WHERE " + USER_TODOS, userId);
+        jdbcTemplate.update("DELETE FROM managers WHERE " + USER_TODOS, userId);
+        jdbcTemplate.update("DELETE FROM todos WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM todo_counts WHERE user_id = ?", userId);
+    }
+
+    private static void inTransaction(DataSource dataSource, Runnable action) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> action.run());
+    }
+}
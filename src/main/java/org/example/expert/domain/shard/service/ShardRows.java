@@ -0,0 +1,120 @@
+package org.example.expert.domain.shard.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/*
+shard 간 row 복사. 컬럼 목록은 결과의 메타데이터로 정하므로 엔티티에 컬럼이 추가돼도 따로 고칠 필요가 없다.
+ */
+final class ShardRows {
+
+    static final int CHUNK_SIZE = 1_000;
+
+    private ShardRows() {
+    }
+
+    // source 에서 select 한 row 를 target 의 같은 테이블에 넣는다. excludeColumns 는 target 에서 새로 생성된다.
+    static int copy(JdbcTemplate source, JdbcTemplate target, String table, String where, Set<String> excludeColumns, Object... args) {
+        List<String> columns = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>(CHUNK_SIZE);
+        int[] copied = {0};
+
+        source.query("SELECT * FROM " + table + " WHERE " + where, rs -> {
+            if (columns.isEmpty()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT));
+                }
+            }
+            List<Object> values = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                if (!excludeColumns.contains(columns.get(i))) {
+                    values.add(rs.getObject(i + 1));
+                }
+            }
+            batch.add(values.toArray());
+            if (batch.size() == CHUNK_SIZE) {
+                copied[0] += insert(target, table, columns, excludeColumns, batch);
+                batch.clear();
+            }
+        }, args);
+
+        copied[0] += insert(target, table, columns, excludeColumns, batch);
+        return copied[0];
+    }
+
+    /*
+    target 에 이미 있는 row 는 update, 없는 row 는 insert 한다. 참조하는 row 가 있어도 지우지 않도록 delete 후 insert 는 하지 않는다.
+    있는지는 IN 조회 한 번으로 보고, update / insert 는 각각 JDBC batch 한 번이다. rows 는 CHUNK_SIZE 이하로 나눠서 넘긴다.
+     */
+    static void upsert(JdbcTemplate target, String table, String idColumn, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = rows.get(0).keySet().stream().map(column -> column.toLowerCase(Locale.ROOT)).toList();
+        int idIndex = columns.indexOf(idColumn);
+        List<String> updated = columns.stream().filter(column -> !column.equals(idColumn)).toList();
+
+        List<Object> ids = rows.stream().map(row -> new ArrayList<>(row.values()).get(idIndex)).toList();
+        Set<Long> existing = new HashSet<>(target.queryForList(
+                "SELECT " + idColumn + " FROM " + table + " WHERE " + idColumn + " IN (" + placeholders(ids.size()) + ")",
+                Long.class, ids.toArray()));
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            List<Object> values = new ArrayList<>(row.values());
+            Object id = values.get(idIndex);
+            if (!existing.contains(((Number) id).longValue())) {
+                inserts.add(values.toArray());
+                continue;
+            }
+            List<Object> updateArgs = new ArrayList<>(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                if (i != idIndex) {
+                    updateArgs.add(values.get(i));
+                }
+            }
+            updateArgs.add(id);
+            updates.add(updateArgs.toArray());
+        }
+
+        if (!updates.isEmpty()) {
+            target.batchUpdate("UPDATE " + table + " SET " + String.join(", ", updated.stream().map(column -> column + " = ?").toList())
+                    + " WHERE " + idColumn + " = ?", updates);
+        }
+        insert(target, table, columns, Set.of(), inserts);
+    }
+
+    // IN (?, ?, ...) 의 ? 목록
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static int insert(JdbcTemplate target, String table, List<String> columns, Set<String> excludeColumns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<String> inserted = columns.stream().filter(column -> !excludeColumns.contains(column)).toList();
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", inserted) + ") VALUES ("
+                + String.join(", ", inserted.stream().map(column -> "?").toList()) + ")";
+        target.batchUpdate(sql, rows);
+        return rows.size();
+    }
+}
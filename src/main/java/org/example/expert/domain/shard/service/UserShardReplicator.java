@@ -0,0 +1,180 @@
+package org.example.expert.domain.shard.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.config.ShardContext;
+import org.example.expert.config.ShardDataSources;
+import org.example.expert.domain.user.entity.User;
+import org.example.expert.domain.user.event.UserChangedEvent;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+users 는 global shard(0) 가 원본이고, 다른 shard 에는 복사본을 둔다.
+todo 조회가 작성자/담당자 user 를 join 하므로 모든 shard 에 같은 users 가 있어야 한다.
+원본 트랜잭션이 커밋된 뒤에 복사하며, 새 유저는 이때 shard 를 배정받는다.
+- 복사에 실패한 유저는 기억해 두고 replication-retry-interval 마다 다시 복사한다.
+  배정을 못 받은 새 유저는 그동안 shard 0 에서 todo 를 만들었을 수 있으므로, shard 0 으로 기록한 뒤 ShardRebalancer 로 원래 shard 에 옮긴다.
+- 그래도 기억이 남지 않는 경우(복사 전에 인스턴스가 내려감)를 위해, 기동할 때 shard 마다 원본과 id, modified_at 을 비교해서 빠지거나 오래된 복사본을 채운다.
+일괄 import 처럼 여러 유저가 한 이벤트로 오면 CHUNK_SIZE 씩 IN 조회 / JDBC batch 로 복사하고 배정한다.
+복사본은 JDBC 로 바꾸므로 2차 캐시의 그 유저만 직접 비운다. 캐시 키에 shard(tenant)가 들어가므로 shard 마다 키를 만들어 지운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.shard.enabled", havingValue = "true")
+public class UserShardReplicator {
+
+    private final ShardDataSources shards;
+    private final ShardDirectory shardDirectory;
+    private final ShardRebalancer shardRebalancer;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // 복사에 실패해서 다시 해야 하는 유저. 값은 새 유저라서 shard 배정도 해야 하는지
+    private final ConcurrentHashMap<Long, Boolean> pending = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        replicateOrRetryLater(event.getUserIds(), event.isCreated(), false);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.shard.replication-retry-interval:10000}")
+    public void retryPending() {
+        List<Long> created = new ArrayList<>();
+        List<Long> changed = new ArrayList<>();
+        for (Map.Entry<Long, Boolean> entry : new HashMap<>(pending).entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                (entry.getValue() ? created : changed).add(entry.getKey());
+            }
+        }
+        replicateOrRetryLater(created, true, true);
+        replicateOrRetryLater(changed, false, true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        JdbcTemplate global = new JdbcTemplate(shards.get(ShardContext.GLOBAL_SHARD));
+        int repaired = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> originals = global.queryForList(
+                    "SELECT id, modified_at FROM users WHERE id > ? ORDER BY id LIMIT " + ShardRows.CHUNK_SIZE, lastId);
+            if (originals.isEmpty()) {
+                break;
+            }
+            long firstId = ((Number) originals.get(0).get("id")).longValue();
+            lastId = ((Number) originals.get(originals.size() - 1).get("id")).longValue();
+
+            Set<Long> stale = new LinkedHashSet<>();
+            for (int shard = 1; shard < shards.size(); shard++) {
+                Map<Long, Object> copies = new HashMap<>();
+                new JdbcTemplate(shards.get(shard)).query("SELECT id, modified_at FROM users WHERE id BETWEEN ? AND ?",
+                        rs -> {
+                            copies.put(rs.getLong(1), rs.getObject(2));
+                        }, firstId, lastId);
+
+                for (Map<String, Object> original : originals) {
+                    long userId = ((Number) original.get("id")).longValue();
+                    if (!copies.containsKey(userId) || !Objects.equals(copies.get(userId), original.get("modified_at"))) {
+                        stale.add(userId);
+                    }
+                }
+            }
+            replicateOrRetryLater(new ArrayList<>(stale), false, false);
+            repaired += stale.size();
+        }
+        if (repaired > 0) {
+            log.warn("shard 에 빠지거나 오래된 users 복사본을 다시 복사했습니다. {}건", repaired);
+        }
+    }
+
+    private void replicateOrRetryLater(List<Long> userIds, boolean created, boolean retried) {
+        for (List<Long> chunk : ShardRows.chunks(userIds)) {
+            try {
+                replicate(chunk);
+                if (created && retried) {
+                    assignLate(chunk);
+                } else if (created) {
+                    shardDirectory.assignNewUsers(chunk);
+                    log.info("새 유저 shard 배정. {}명", chunk.size());
+                }
+            } catch (DataAccessException e) {
+                log.warn("users shard 복사 실패. 나중에 다시 시도합니다. {}명, userId: {}..", chunk.size(), chunk.get(0), e);
+                chunk.forEach(userId -> pending.merge(userId, created, Boolean::logicalOr));
+            }
+        }
+    }
+
+    // 늦게 배정하는 유저는 shard 0 에 기록한 뒤 옮긴다. 옮기지 못하면 shard 0 에 그대로 두고, 나중에 관리자 API 로 옮길 수 있다.
+    private void assignLate(List<Long> userIds) {
+        shardDirectory.assignGlobalShard(userIds);
+        for (Long userId : userIds) {
+            try {
+                shardRebalancer.moveUser(userId, shardDirectory.homeShardOf(userId));
+            } catch (RuntimeException e) {
+                log.warn("늦게 배정한 유저를 원래 shard 로 옮기지 못해 shard 0 에 둡니다. userId: {}", userId, e);
+            }
+        }
+        log.info("새 유저 shard 배정(재시도). {}명", userIds.size());
+    }
+
+    // IN 조회 한 번으로 읽어서 shard 마다 JDBC batch 로 넣는다.
+    private void replicate(List<Long> userIds) {
+        JdbcTemplate global = new JdbcTemplate(shards.get(ShardContext.GLOBAL_SHARD));
+        List<Map<String, Object>> users = global.queryForList(
+                "SELECT * FROM users WHERE id IN (" + ShardRows.placeholders(userIds.size()) + ")", userIds.toArray());
+        for (int shard = 1; shard < shards.size(); shard++) {
+            ShardRows.upsert(new JdbcTemplate(shards.get(shard)), "users", "id", users);
+        }
+        evictCached(users.stream().map(user -> ((Number) user.get("id")).longValue()).toList(),
+                users.stream().map(user -> (String) user.get("email")).toList());
+    }
+
+    // shard 마다 tenant 가 다른 세션으로 캐시 키를 만들어 그 유저의 엔티티, email natural-id 만 지운다.
+    private void evictCached(List<Long> userIds, List<String> emails) {
+        SessionFactoryImplementor factory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = factory.getMappingMetamodel().getEntityDescriptor(User.class);
+        EntityDataAccess entityAccess = persister.getCacheAccessStrategy();
+        NaturalIdDataAccess naturalIdAccess = persister.getNaturalIdCacheAccessStrategy();
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            String tenant = String.valueOf(shard);
+            if (entityAccess != null) {
+                for (Long userId : userIds) {
+                    entityAccess.evict(entityAccess.generateCacheKey(userId, persister, factory, tenant));
+                }
+            }
+            if (naturalIdAccess != null) {
+                try (Session session = factory.withOptions().tenantIdentifier(tenant).openSession()) {
+                    List<Object> keys = new ArrayList<>(emails.size());
+                    for (String email : emails) {
+                        keys.add(naturalIdAccess.generateCacheKey(email, persister, (SharedSessionContractImplementor) session));
+                    }
+                    keys.forEach(naturalIdAccess::evict);
+                }
+            }
+        }
+    }
+}
@@ -5,16 +5,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.expert.domain.common.annotation.Auth;
 import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.common.dto.ResourceVersion;
 import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.todo.dto.request.TodoBulkSaveRequest;
 import org.example.expert.domain.todo.dto.request.TodoSaveRequest;
+import org.example.expert.domain.todo.dto.response.TodoBulkSaveResponse;
+import org.example.expert.domain.todo.dto.response.TodoCursorResponse;
 import org.example.expert.domain.todo.dto.response.TodoResponse;
 import org.example.expert.domain.todo.dto.response.TodoSaveResponse;
+import org.example.expert.domain.todo.service.TodoResponseCache;
+import org.example.expert.domain.todo.service.TodoSearchCache;
 import org.example.expert.domain.todo.service.TodoService;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -25,6 +33,8 @@ import java.util.Map;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoResponseCache todoResponseCache;
+    private final TodoSearchCache todoSearchCache;
 
     @PostMapping("/todos")
     public ResponseEntity<TodoSaveResponse> saveTodo(
@@ -35,6 +45,15 @@ public class TodoController {
         return ResponseEntity.ok(todoService.saveTodo(authUser, todoSaveRequest));
     }
 
+    // 최대 TodoBulkSaveRequest.MAX_SIZE 건까지 한 번에 저장
+    @PostMapping("/todos/bulk")
+    public ResponseEntity<TodoBulkSaveResponse> saveTodos(
+            @AuthenticationPrincipal AuthUser authUser,
+            @Valid @RequestBody TodoBulkSaveRequest todoBulkSaveRequest
+    ) {
+        return ResponseEntity.ok(todoService.saveTodos(authUser, todoBulkSaveRequest));
+    }
+
     // 참고해서 검색 부분 구현.
     @GetMapping("/todos")
     public ResponseEntity<Page<TodoResponse>> getTodos(
@@ -45,9 +64,29 @@ public class TodoController {
         return ResponseEntity.ok(todoService.getTodos(authUser.getId(), page, size));
     }
 
+    // cursor 파라미터가 있으면 커서 기반으로 조회. 첫 페이지는 cursor= (빈 값)으로 요청. size 는 최대 TodoService.MAX_CURSOR_PAGE_SIZE
+    @GetMapping(value = "/todos", params = "cursor")
+    public ResponseEntity<TodoCursorResponse> getTodosByCursor(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(todoService.getTodosByCursor(authUser.getId(), cursor, size));
+    }
+
+    /*
+    직렬화된 응답을 캐시해두고 그대로 내려준다. 캐시에 없을 때만 조회한다.
+    If-None-Match / If-Modified-Since 가 있으면 수정 시각만 조회해서 바뀌지 않았으면 본문 없이 304 를 내려준다.
+     */
     @GetMapping("/todos/{todoId}")
-    public ResponseEntity<TodoResponse> getTodo(@AuthenticationPrincipal AuthUser authUser,@PathVariable(name = "todoId") long todoId) {
-        return ResponseEntity.ok(todoService.getTodo(authUser.getId(), todoId));
+    public ResponseEntity<byte[]> getTodo(@AuthenticationPrincipal AuthUser authUser, @PathVariable(name = "todoId") long todoId, WebRequest webRequest) {
+        // 캐시 항목은 방금 읽은 검증자와 같을 때만 쓴다. 다시 조회한 본문은 검증자보다 새로울 수는 있어도 오래될 수는 없다. (다음 요청에서 다시 200)
+        ResourceVersion version = todoService.getTodoVersion(authUser.getId(), todoId);
+        if (version.checkNotModified(webRequest)) {
+            return null;
+        }
+        byte[] body = todoResponseCache.get(authUser.getId(), todoId, version.getEtag(), () -> todoService.getTodo(authUser.getId(), todoId));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /*
@@ -63,16 +102,46 @@ public class TodoController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
-    // 검색
+    // 검색. q 가 있으면 title/contents 키워드 검색 결과를 관련도 순으로 반환. 같은 조건은 유저가 todo 를 바꾸기 전까지 캐시에서 내려준다.
     @GetMapping("/todos/search")
-    public ResponseEntity<Page<TodoResponse>> searchTodos(
+    public ResponseEntity<byte[]> searchTodos(
             @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String weather,
             @RequestParam(required = false) LocalDateTime startDate,
             @RequestParam(required = false) LocalDateTime endDate,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
-        return ResponseEntity.ok(todoService.searchTodos(authUser.getId(), weather, startDate, endDate, page, size));
+        byte[] body = todoSearchCache.getPage(authUser.getId(), q, weather, startDate, endDate, page, size,
+                () -> todoService.searchTodos(authUser.getId(), q, weather, startDate, endDate, page, size));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // slice=true 이면 count 쿼리 없이 hasNext 만 내려준다.
+    @GetMapping(value = "/todos/search", params = "slice=true")
+    public ResponseEntity<byte[]> searchTodosSlice(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam(required = false) String weather,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        byte[] body = todoSearchCache.getSlice(authUser.getId(), weather, startDate, endDate, page, size,
+                () -> todoService.searchTodosSlice(authUser.getId(), weather, startDate, endDate, page, size));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(value = "/todos/search", params = "cursor")
+    public ResponseEntity<TodoCursorResponse> searchTodosByCursor(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam(required = false) String weather,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(todoService.searchTodosByCursor(authUser.getId(), weather, startDate, endDate, cursor, size));
     }
 }
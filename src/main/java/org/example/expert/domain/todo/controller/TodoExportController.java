@@ -0,0 +1,41 @@
+package org.example.expert.domain.todo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.expert.config.ShardContext;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.todo.service.TodoExportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+public class TodoExportController {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TodoExportService todoExportService;
+
+    // 내 todo 전체를 NDJSON 으로 내려받는다. include=comments,managers 로 댓글/담당자를 같이 받을 수 있다.
+    @GetMapping("/todos/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @AuthenticationPrincipal AuthUser authUser,
+            @RequestParam(name = "include", required = false, defaultValue = "") Set<String> include
+    ) {
+        // 응답을 쓰기 시작하면 400 으로 바꿀 수 없으므로 스트리밍 전에 검증한다.
+        TodoExportService.validateIncludes(include);
+        Long userId = authUser.getId();
+        // 스트리밍은 다른 스레드에서 실행되므로 요청의 shard 를 넘겨준다.
+        int shard = ShardContext.current();
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(outputStream -> ShardContext.runIn(shard, () -> todoExportService.export(userId, include, outputStream)));
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.expert.domain.todo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.expert.domain.todo.dto.response.TodoWeatherDeadLetterResponse;
+import org.example.expert.domain.todo.service.TodoWeatherEnricher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TodoWeatherAdminController {
+
+    private final TodoWeatherEnricher todoWeatherEnricher;
+
+    // 날씨 보강 재시도를 넘겨 dead-letter 에 쌓인 todo 목록
+    @GetMapping("/admin/todos/weather/dead-letters")
+    public ResponseEntity<TodoWeatherDeadLetterResponse> getDeadLetters() {
+        return ResponseEntity.ok(new TodoWeatherDeadLetterResponse(todoWeatherEnricher.getDeadLetterTodoIds(), todoWeatherEnricher.getQueueSize()));
+    }
+
+    // dead-letter 를 모두 처리 큐로 되돌린다. (날씨 API 가 복구된 뒤) 돌려준 목록은 되돌린 todo
+    @PostMapping("/admin/todos/weather/dead-letters/retry")
+    public ResponseEntity<TodoWeatherDeadLetterResponse> retryDeadLetters() {
+        List<Long> todoIds = todoWeatherEnricher.retryDeadLetters();
+        return ResponseEntity.ok(new TodoWeatherDeadLetterResponse(todoIds, todoWeatherEnricher.getQueueSize()));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.expert.domain.todo.dto;
+
+import lombok.Getter;
+import org.example.expert.domain.common.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/*
+키셋 페이지네이션 커서.
+마지막으로 내려준 row 의 (modifiedAt, id) 를 base64url 로 감싸서 클라이언트에는 불투명한 문자열로 보인다.
+ */
+@Getter
+public class TodoCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime modifiedAt;
+    private final Long id;
+
+    public TodoCursor(LocalDateTime modifiedAt, Long id) {
+        this.modifiedAt = modifiedAt;
+        this.id = id;
+    }
+
+    // 빈 문자열은 첫 페이지 요청으로 본다.
+    public static TodoCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = decoded.lastIndexOf(DELIMITER);
+            if (idx < 0) {
+                throw new InvalidRequestException("잘못된 커서입니다.");
+            }
+            return new TodoCursor(
+                    LocalDateTime.parse(decoded.substring(0, idx)),
+                    Long.parseLong(decoded.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("잘못된 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = modifiedAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.expert.domain.todo.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBulkSaveRequest {
+
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    private List<@Valid TodoSaveRequest> todos;
+}
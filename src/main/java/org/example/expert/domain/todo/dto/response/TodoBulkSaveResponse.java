@@ -0,0 +1,24 @@
+package org.example.expert.domain.todo.dto.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class TodoBulkSaveResponse {
+
+    private final int count;
+    private final List<Long> ids;
+    private final String weather;
+
+    public TodoBulkSaveResponse(List<Long> ids, String weather) {
+        this.count = ids.size();
+        this.ids = ids;
+        this.weather = weather;
+    }
+
+    // 날씨 비동기 보강이 아직 끝나지 않은 상태
+    public boolean isWeatherPending() {
+        return weather == null;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.expert.domain.todo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import org.example.expert.domain.comment.dto.response.CommentResponse;
+import org.example.expert.domain.manager.dto.response.ManagerResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// export 한 줄(todo 1건). comments, managers 는 include 로 요청한 경우에만 채워진다.
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoExportResponse {
+
+    private final Long id;
+    private final String title;
+    private final String contents;
+    private final String weather;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime modifiedAt;
+    private final List<CommentResponse> comments;
+    private final List<ManagerResponse> managers;
+
+    public TodoExportResponse(Long id, String title, String contents, String weather, LocalDateTime createdAt, LocalDateTime modifiedAt,
+                              List<CommentResponse> comments, List<ManagerResponse> managers) {
+        this.id = id;
+        this.title = title;
+        this.contents = contents;
+        this.weather = weather;
+        this.createdAt = createdAt;
+        this.modifiedAt = modifiedAt;
+        this.comments = comments;
+        this.managers = managers;
+    }
+}
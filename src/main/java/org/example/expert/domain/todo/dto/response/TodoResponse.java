@@ -25,4 +25,9 @@ public class TodoResponse {
         this.createdAt = createdAt;
         this.modifiedAt = modifiedAt;
     }
+
+    // 날씨 비동기 보강이 아직 끝나지 않은 상태
+    public boolean isWeatherPending() {
+        return weather == null;
+    }
 }
@@ -21,4 +21,9 @@ public class TodoSaveResponse {
         this.user = user;
     }
 
+    // 날씨 비동기 보강이 아직 끝나지 않은 상태
+    public boolean isWeatherPending() {
+        return weather == null;
+    }
+
 }
@@ -0,0 +1,22 @@
+package org.example.expert.domain.todo.dto.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 전체 개수 없이 다음 페이지 존재 여부만 내려주는 검색 응답
+@Getter
+public class TodoSliceResponse {
+
+    private final List<TodoResponse> content;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+
+    public TodoSliceResponse(List<TodoResponse> content, int page, int size, boolean hasNext) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+}
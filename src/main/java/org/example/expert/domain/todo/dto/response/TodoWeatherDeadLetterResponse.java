@@ -0,0 +1,17 @@
+package org.example.expert.domain.todo.dto.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class TodoWeatherDeadLetterResponse {
+
+    private final List<Long> todoIds;
+    private final int queueSize;
+
+    public TodoWeatherDeadLetterResponse(List<Long> todoIds, int queueSize) {
+        this.todoIds = todoIds;
+        this.queueSize = queueSize;
+    }
+}
@@ -14,15 +14,28 @@ import java.util.List;
 @Getter
 @Entity
 @NoArgsConstructor
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        // 키셋 페이지네이션(user_id, modified_at desc, id desc) 용 인덱스
+        @Index(name = "idx_todos_user_modified_id", columnList = "user_id, modified_at, id")
+})
 public class Todo extends Timestamped {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    /*
+    IDENTITY 는 insert 를 해야 id 를 알 수 있어서 JDBC batch 가 꺼진다.
+    pooled 시퀀스로 50개씩 id 를 미리 받아두고 insert 는 batch 로 보낸다. (MySQL 은 todos_seq 테이블로 대체)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private Long id;
     private String title;
     private String contents;
     private String weather;
 
+    // 담당자가 추가/삭제될 때마다 올린다. managers 에는 수정 시각이 없어서 담당자 목록 ETag 는 이 값으로 만든다.
+    @Column(nullable = false)
+    private long managersVersion;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,30 @@
+package org.example.expert.domain.todo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+유저별 todo 개수. 목록 조회 때마다 count(*) 를 돌리지 않도록 todo 저장 트랜잭션에서 같이 갱신한다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "todo_counts")
+public class TodoCount {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long todoCount;
+
+    public TodoCount(Long userId, long todoCount) {
+        this.userId = userId;
+        this.todoCount = todoCount;
+    }
+}
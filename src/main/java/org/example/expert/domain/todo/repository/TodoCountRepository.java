@@ -0,0 +1,24 @@
+package org.example.expert.domain.todo.repository;
+
+import org.example.expert.domain.todo.entity.TodoCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TodoCountRepository extends JpaRepository<TodoCount, Long> {
+
+    @Modifying
+    @Query("UPDATE TodoCount c SET c.todoCount = c.todoCount + :delta WHERE c.userId = :userId")
+    int addTodoCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /*
+    카운터 row 가 없을 때 initialCount 로 만든다. 같은 유저의 첫 저장이 동시에 들어와 다른 트랜잭션이 먼저 만들었으면
+    그 row 에 delta 만 더한다. (먼저 만든 쪽의 count(*) 에는 아직 커밋되지 않은 이쪽 todo 가 들어있지 않다)
+    save() 는 id 가 있으면 merge 로 select 를 한 번 더 하므로 직접 실행한다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todo_counts (user_id, todo_count) VALUES (:userId, :initialCount) "
+            + "ON DUPLICATE KEY UPDATE todo_count = todo_count + :delta", nativeQuery = true)
+    int upsertTodoCount(@Param("userId") Long userId, @Param("initialCount") long initialCount, @Param("delta") long delta);
+}
@@ -1,15 +1,41 @@
 package org.example.expert.domain.todo.repository;
 
 import org.example.expert.domain.todo.entity.Todo;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryQueryDsl {
-    Page<Todo> searchTodos(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    // 조건부 GET 검증자용 (modifiedAt, weather, userId). 날씨 보강은 bulk update 라 modifiedAt 이 바뀌지 않아서 weather 도 본다.
+    @Query("SELECT t.modifiedAt, t.weather, t.user.id FROM Todo t WHERE t.id = :todoId")
+    List<Object[]> findVersionRow(@Param("todoId") long todoId);
+
+    @Query("SELECT t.managersVersion FROM Todo t WHERE t.id = :todoId")
+    Optional<Long> findManagersVersion(@Param("todoId") long todoId);
+
+    // 동시에 담당자가 바뀌어도 버전이 겹치지 않도록 읽지 않고 DB 에서 올린다.
+    @Modifying
+    @Query("UPDATE Todo t SET t.managersVersion = t.managersVersion + 1 WHERE t.id = :todoId")
+    int increaseManagersVersion(@Param("todoId") long todoId);
+
+    // 날씨 보강 대기 중인 todo (id, userId, createdAt)
+    @Query("SELECT t.id, t.user.id, t.createdAt FROM Todo t WHERE t.weather IS NULL")
+    List<Object[]> findWeatherPendingTodos();
+
+    // 날씨 비동기 보강. 이미 채워진 row 는 건드리지 않는다.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.weather = :weather WHERE t.id IN :ids AND t.weather IS NULL")
+    int fillPendingWeather(@Param("ids") List<Long> ids, @Param("weather") String weather);
+
+    // 검색 색인 동기화용 (id, userId, title, contents). id 순으로 끊어서 읽는다.
+    @Query("SELECT t.id, t.user.id, t.title, t.contents FROM Todo t WHERE t.id > :id ORDER BY t.id")
+    List<Object[]> findIndexRowsAfter(@Param("id") long id, Pageable pageable);
 }
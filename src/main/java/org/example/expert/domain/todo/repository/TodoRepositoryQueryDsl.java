@@ -1,19 +1,36 @@
 package org.example.expert.domain.todo.repository;
 
+import org.example.expert.domain.todo.dto.TodoCursor;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
 import org.example.expert.domain.todo.entity.Todo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /*
 QueryDSL을 사용할 메서드를 정의
+목록 조회는 엔티티를 만들지 않고 TodoResponse 로 바로 projection 한다.
  */
 public interface TodoRepositoryQueryDsl {
     Optional<Todo> findByIdWithUser(Long todoId);
 
-    Page<Todo> searchTodos(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
-    Page<Todo> findAllByUserIdOrderByModifiedAtDesc(Long userId, Pageable pageable);
+    Page<TodoResponse> searchTodoResponses(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    // count 없이 size + 1 개를 읽어 다음 페이지 존재 여부만 판단
+    Slice<TodoResponse> searchTodoResponseSlice(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    // 전체 개수는 TodoCounter 에서 가져오므로 목록만 조회
+    List<TodoResponse> findTodoResponsesByUserId(Long userId, Pageable pageable);
 
+    // 키워드 검색 결과(todo id 목록)를 응답으로 변환. 순서는 보장하지 않는다.
+    List<TodoResponse> findTodoResponsesByIds(Long userId, List<Long> todoIds);
+    // ids 중 필터 조건에 맞는 id 만 반환
+    Set<Long> findTodoIdsMatching(Long userId, List<Long> todoIds, String weather, LocalDateTime startDate, LocalDateTime endDate);
+
+    // 커서(키셋) 기반 조회. cursor 가 null 이면 첫 페이지
+    List<TodoResponse> findTodoResponsesAfterCursor(Long userId, TodoCursor cursor, int limit);
+    List<TodoResponse> searchTodoResponsesAfterCursor(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, TodoCursor cursor, int limit);
 }
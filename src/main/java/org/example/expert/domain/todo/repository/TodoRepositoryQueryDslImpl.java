@@ -1,25 +1,37 @@
 package org.example.expert.domain.todo.repository;
 
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.example.expert.domain.todo.dto.TodoCursor;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
 import org.example.expert.domain.todo.entity.QTodo;
 import org.example.expert.domain.todo.entity.Todo;
+import org.example.expert.domain.user.dto.response.UserResponse;
 import org.example.expert.domain.user.entity.QUser;
-import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 @RequiredArgsConstructor
 public class TodoRepositoryQueryDslImpl implements TodoRepositoryQueryDsl {
 
+    // IN 절 파라미터 개수 제한
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1_000;
+
     private final JPAQueryFactory queryFactory;
 
     @Override
@@ -36,12 +48,31 @@ public class TodoRepositoryQueryDslImpl implements TodoRepositoryQueryDsl {
         return Optional.ofNullable(result);
     }
 
+    /*
+    목록 응답은 읽기 전용이라 영속성 컨텍스트, dirty check 스냅샷, 지연 로딩 프록시가 필요 없다.
+    user 는 같은 SQL 에서 join 해서 TodoResponse / UserResponse 생성자로 바로 받는다.
+     */
+    private ConstructorExpression<TodoResponse> todoResponse(QTodo todo, QUser user) {
+        return Projections.constructor(TodoResponse.class,
+                todo.id,
+                todo.title,
+                todo.contents,
+                todo.weather,
+                Projections.constructor(UserResponse.class, user.id, user.email),
+                todo.createdAt,
+                todo.modifiedAt
+        );
+    }
+
     @Override
-    public Page<Todo> searchTodos(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+    public Page<TodoResponse> searchTodoResponses(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
         QTodo todo = QTodo.todo;
+        QUser user = QUser.user;
 
-        List<Todo> results = queryFactory
-                .selectFrom(todo)
+        List<TodoResponse> results = queryFactory
+                .select(todoResponse(todo, user))
+                .from(todo)
+                .join(todo.user, user)
                 .where(
                         todo.user.id.eq(userId),
                         weatherEq(weather),
@@ -53,18 +84,43 @@ public class TodoRepositoryQueryDslImpl implements TodoRepositoryQueryDsl {
                 .limit(pageable.getPageSize())
                 .fetch();
 
-        long total = queryFactory
+        // 첫 페이지에서 size 보다 적게 나오거나 마지막 페이지면 count 쿼리를 실행하지 않는다.
+        JPAQuery<Long> countQuery = queryFactory
                 .select(todo.count())
                 .from(todo)
+                .where(
+                        todo.user.id.eq(userId),
+                        weatherEq(weather),
+                        startDateGoe(startDate),
+                        endDateLoe(endDate)
+                );
+
+        return PageableExecutionUtils.getPage(results, pageable, countQuery::fetchOne);
+    }
+
+    @Override
+    public Slice<TodoResponse> searchTodoResponseSlice(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        QTodo todo = QTodo.todo;
+        QUser user = QUser.user;
+
+        List<TodoResponse> results = queryFactory
+                .select(todoResponse(todo, user))
+                .from(todo)
+                .join(todo.user, user)
                 .where(
                         todo.user.id.eq(userId),
                         weatherEq(weather),
                         startDateGoe(startDate),
                         endDateLoe(endDate)
                 )
-                .fetchOne();
+                .orderBy(todo.modifiedAt.desc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .fetch();
 
-        return PageableExecutionUtils.getPage(results, pageable, () -> total);
+        boolean hasNext = results.size() > pageable.getPageSize();
+        List<TodoResponse> content = hasNext ? results.subList(0, pageable.getPageSize()) : results;
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
     private BooleanExpression weatherEq(String weather) {
@@ -79,24 +135,112 @@ public class TodoRepositoryQueryDslImpl implements TodoRepositoryQueryDsl {
         return endDate != null ? QTodo.todo.modifiedAt.loe(endDate) : null;
     }
 
+    /*
+    (modifiedAt, id) 내림차순 기준으로 커서 다음 row 부터 읽는다.
+    offset 처럼 앞 row 들을 읽고 버리지 않으므로 페이지가 깊어져도 비용이 일정하다.
+     */
+    private BooleanExpression afterCursor(TodoCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        QTodo todo = QTodo.todo;
+        return todo.modifiedAt.lt(cursor.getModifiedAt())
+                .or(todo.modifiedAt.eq(cursor.getModifiedAt()).and(todo.id.lt(cursor.getId())));
+    }
+
     @Override
-    public Page<Todo> findAllByUserIdOrderByModifiedAtDesc(Long userId, Pageable pageable) {
+    public List<TodoResponse> findTodoResponsesAfterCursor(Long userId, TodoCursor cursor, int limit) {
         QTodo todo = QTodo.todo;
+        QUser user = QUser.user;
 
-        List<Todo> results = queryFactory
-                .selectFrom(todo)
+        return queryFactory
+                .select(todoResponse(todo, user))
+                .from(todo)
+                .join(todo.user, user)
+                .where(
+                        todo.user.id.eq(userId),
+                        afterCursor(cursor)
+                )
+                .orderBy(todo.modifiedAt.desc(), todo.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<TodoResponse> searchTodoResponsesAfterCursor(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, TodoCursor cursor, int limit) {
+        QTodo todo = QTodo.todo;
+        QUser user = QUser.user;
+
+        return queryFactory
+                .select(todoResponse(todo, user))
+                .from(todo)
+                .join(todo.user, user)
+                .where(
+                        todo.user.id.eq(userId),
+                        weatherEq(weather),
+                        startDateGoe(startDate),
+                        endDateLoe(endDate),
+                        afterCursor(cursor)
+                )
+                .orderBy(todo.modifiedAt.desc(), todo.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<TodoResponse> findTodoResponsesByUserId(Long userId, Pageable pageable) {
+        QTodo todo = QTodo.todo;
+        QUser user = QUser.user;
+
+        return queryFactory
+                .select(todoResponse(todo, user))
+                .from(todo)
+                .join(todo.user, user)
                 .where(todo.user.id.eq(userId)) // userId 필터 추가
                 .orderBy(todo.modifiedAt.desc())
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
+    }
 
-        long total = queryFactory
-                .select(todo.count())
+    @Override
+    public List<TodoResponse> findTodoResponsesByIds(Long userId, List<Long> todoIds) {
+        if (todoIds.isEmpty()) {
+            return List.of();
+        }
+        QTodo todo = QTodo.todo;
+        QUser user = QUser.user;
+
+        return queryFactory
+                .select(todoResponse(todo, user))
                 .from(todo)
-                .where(todo.user.id.eq(userId))
-                .fetchOne();
+                .join(todo.user, user)
+                .where(
+                        todo.user.id.eq(userId),
+                        todo.id.in(todoIds)
+                )
+                .fetch();
+    }
+
+    @Override
+    public Set<Long> findTodoIdsMatching(Long userId, List<Long> todoIds, String weather, LocalDateTime startDate, LocalDateTime endDate) {
+        QTodo todo = QTodo.todo;
 
-        return PageableExecutionUtils.getPage(results, pageable, () -> total);
+        Set<Long> matched = new HashSet<>();
+        for (int from = 0; from < todoIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = todoIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, todoIds.size()));
+            matched.addAll(queryFactory
+                    .select(todo.id)
+                    .from(todo)
+                    .where(
+                            todo.user.id.eq(userId),
+                            todo.id.in(chunk),
+                            weatherEq(weather),
+                            startDateGoe(startDate),
+                            endDateLoe(endDate)
+                    )
+                    .fetch());
+        }
+        return matched;
     }
 }
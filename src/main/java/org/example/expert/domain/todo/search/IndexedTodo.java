@@ -0,0 +1,44 @@
+package org.example.expert.domain.todo.search;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// 색인 단위. 단어별 가중치는 title 에 나온 횟수 * TITLE_BOOST + contents 에 나온 횟수
+final class IndexedTodo {
+
+    static final int TITLE_BOOST = 3;
+
+    private final long userId;
+    private final long todoId;
+    private final Map<String, Integer> termWeights;
+
+    IndexedTodo(long userId, long todoId, Map<String, Integer> termWeights) {
+        this.userId = userId;
+        this.todoId = todoId;
+        this.termWeights = Collections.unmodifiableMap(termWeights);
+    }
+
+    static IndexedTodo of(long userId, long todoId, String title, String contents) {
+        Map<String, Integer> termWeights = new HashMap<>();
+        for (String term : TodoTokenizer.tokenize(title)) {
+            termWeights.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : TodoTokenizer.tokenize(contents)) {
+            termWeights.merge(term, 1, Integer::sum);
+        }
+        return new IndexedTodo(userId, todoId, termWeights);
+    }
+
+    long getUserId() {
+        return userId;
+    }
+
+    long getTodoId() {
+        return todoId;
+    }
+
+    Map<String, Integer> getTermWeights() {
+        return termWeights;
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.expert.domain.todo.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+색인 segment 파일. 레코드를 append 만 하고 segment-size 를 넘으면 다음 파일로 넘어간다.
+append 는 레코드를 쓴 뒤 fsync(force) 까지 하고 돌아온다. 중간에 실패하면 쓰기 전 크기로 되돌려서
+뒤에 쓰는 레코드가 잘린 레코드 뒤에 붙지 않게 한다.
+시작할 때는 파일을 mmap 해서 순서대로 읽는다.
+
+레코드: userId(8) todoId(8) termCount(4) [termLength(2) term(UTF-8) weight(4)] * termCount
+ */
+@Slf4j
+final class TodoIndexSegments implements AutoCloseable {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER_BYTES = Long.BYTES * 2 + Integer.BYTES;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private FileChannel current;
+    private int currentNumber;
+
+    TodoIndexSegments(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    // 저장된 레코드를 순서대로 넘겨주고 읽은 개수를 반환한다.
+    int replay(Consumer<IndexedTodo> consumer) throws IOException {
+        Files.createDirectories(directory);
+
+        int count = 0;
+        for (Path file : listSegments()) {
+            long valid = 0;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+                IndexedTodo todo;
+                while ((todo = read(buffer)) != null) {
+                    consumer.accept(todo);
+                    count++;
+                    valid = buffer.position();
+                }
+
+                // 기록 도중 종료되어 잘린 마지막 레코드는 버린다. 해당 todo 는 DB 에서 다시 색인된다.
+                if (valid < size) {
+                    log.warn("색인 segment 끝의 불완전한 레코드 제거. file: {}, {} -> {} bytes", file, size, valid);
+                    channel.truncate(valid);
+                }
+            }
+            currentNumber = segmentNumber(file);
+        }
+        return count;
+    }
+
+    void append(List<IndexedTodo> todos) throws IOException {
+        List<ByteBuffer> records = new ArrayList<>(todos.size());
+        int bytes = 0;
+        for (IndexedTodo todo : todos) {
+            ByteBuffer record = encode(todo);
+            records.add(record);
+            bytes += record.remaining();
+        }
+
+        writeLock.lock();
+        try {
+            FileChannel channel = currentChannel(bytes);
+            long start = channel.size();
+            try {
+                for (ByteBuffer record : records) {
+                    while (record.hasRemaining()) {
+                        channel.write(record);
+                    }
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                try {
+                    channel.truncate(start);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+                throw e;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private FileChannel currentChannel(int recordBytes) throws IOException {
+        if (current != null && current.size() + recordBytes > segmentSize && current.size() > 0) {
+            current.close();
+            current = null;
+            currentNumber++;
+        }
+        if (current == null) {
+            if (currentNumber == 0) {
+                currentNumber = 1;
+            }
+            Files.createDirectories(directory);
+            current = FileChannel.open(directory.resolve(segmentName(currentNumber)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return current;
+    }
+
+    private static ByteBuffer encode(IndexedTodo todo) {
+        List<Map.Entry<byte[], Integer>> terms = new ArrayList<>(todo.getTermWeights().size());
+        int size = HEADER_BYTES;
+        for (Map.Entry<String, Integer> entry : todo.getTermWeights().entrySet()) {
+            byte[] bytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            terms.add(Map.entry(bytes, entry.getValue()));
+            size += Short.BYTES + bytes.length + Integer.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(todo.getUserId());
+        buffer.putLong(todo.getTodoId());
+        buffer.putInt(terms.size());
+        for (Map.Entry<byte[], Integer> term : terms) {
+            buffer.putShort((short) term.getKey().length);
+            buffer.put(term.getKey());
+            buffer.putInt(term.getValue());
+        }
+        return buffer.flip();
+    }
+
+    // 레코드가 온전하지 않으면 null
+    private static IndexedTodo read(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int start = buffer.position();
+        long userId = buffer.getLong();
+        long todoId = buffer.getLong();
+        int termCount = buffer.getInt();
+        if (termCount < 0) {
+            buffer.position(start);
+            return null;
+        }
+
+        Map<String, Integer> termWeights = new HashMap<>(termCount * 2);
+        for (int i = 0; i < termCount; i++) {
+            if (buffer.remaining() < Short.BYTES) {
+                buffer.position(start);
+                return null;
+            }
+            int length = buffer.getShort() & 0xFFFF;
+            if (buffer.remaining() < length + Integer.BYTES) {
+                buffer.position(start);
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            termWeights.put(new String(bytes, StandardCharsets.UTF_8), buffer.getInt());
+        }
+        return new IndexedTodo(userId, todoId, termWeights);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentName(int number) {
+        return String.format("%s%08d%s", PREFIX, number, SUFFIX);
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,311 @@
+package org.example.expert.domain.todo.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.config.ShardContext;
+import org.example.expert.config.ShardKeys;
+import org.example.expert.config.ShardTopology;
+import org.example.expert.domain.todo.entity.Todo;
+import org.example.expert.domain.todo.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+todo title/contents 키워드 검색용 역색인. 유저별로 파티션을 나눠서 다른 유저의 todo 는 보지 않는다.
+- todo 저장 트랜잭션이 커밋되면 색인하고, 같은 내용을 segment 파일에 append 한 뒤 fsync 한다.
+  여러 건을 한 번에 저장할 때(bulk, 시작 시 DB 동기화)는 묶어서 append / fsync 한 번으로 기록한다.
+  기록에 실패한 todo 는 들고 있다가 다음 기록 때 먼저 다시 쓴다. 그 전까지는 뒤의 todo 도 파일에 쓰지 않으므로
+  파일에 남은 마지막 id 앞에 빠진 todo 가 생기지 않는다.
+- 시작할 때 segment 파일을 mmap 으로 읽어 복구하고, 마지막으로 기록된 id 이후의 todo 는 DB 에서 다시 색인한다. (shard 마다)
+- 검색어의 모든 단어를 포함한 todo 만 결과에 넣고 TF-IDF 점수 순으로 정렬한다.
+todo.search.index.dir 은 기본값이 없다. (작업 디렉터리에 따라 위치가 바뀌지 않도록) 비워두면 파일 없이 메모리에만 둔다.
+ */
+@Slf4j
+@Component
+public class TodoSearchIndex {
+
+    private static final int CATCH_UP_BATCH_SIZE = 1_000;
+
+    private final TodoRepository todoRepository;
+    private final TodoIndexSegments segments;
+    private final ShardTopology shardTopology;
+
+    private final ConcurrentHashMap<Long, UserPartition> partitions = new ConcurrentHashMap<>();
+    // shard 별로 마지막으로 파일에 기록된(파일이 없으면 색인된) id (shard 마다 id 구간이 다르다)
+    private final ConcurrentHashMap<Integer, Long> maxIndexedIds = new ConcurrentHashMap<>();
+    // 파일에 아직 기록하지 못한 todo. 색인(메모리)에는 이미 들어가 있다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final List<IndexedTodo> unpersisted = new ArrayList<>();
+
+    public TodoSearchIndex(TodoRepository todoRepository,
+                           ShardTopology shardTopology,
+                           @Value("${todo.search.index.dir}") String indexDir,
+                           @Value("${todo.search.index.segment-size:67108864}") long segmentSize) {
+        this.todoRepository = todoRepository;
+        this.shardTopology = shardTopology;
+        this.segments = indexDir.isBlank() ? null : new TodoIndexSegments(Path.of(indexDir), segmentSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (segments != null) {
+            try {
+                int loaded = segments.replay(todo -> {
+                    apply(todo);
+                    advance(todo);
+                });
+                log.info("검색 색인 segment 복구: {}건", loaded);
+            } catch (IOException e) {
+                log.error("검색 색인 segment 를 읽지 못했습니다. DB 에서 다시 색인합니다.", e);
+            }
+        }
+        catchUp();
+    }
+
+    // 마지막으로 색인된 id 이후의 todo 를 DB 에서 읽어 색인한다.
+    public int catchUp() {
+        AtomicInteger indexed = new AtomicInteger();
+        shardTopology.forEachShard(() -> indexed.addAndGet(catchUp(ShardContext.current())));
+        log.info("검색 색인 DB 동기화: {}건", indexed.get());
+        return indexed.get();
+    }
+
+    private int catchUp(int shard) {
+        long lastId = maxIndexedIds.getOrDefault(shard, 0L);
+        int indexed = 0;
+        while (true) {
+            List<Object[]> rows = todoRepository.findIndexRowsAfter(lastId, PageRequest.of(0, CATCH_UP_BATCH_SIZE));
+            List<IndexedTodo> todos = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                todos.add(IndexedTodo.of((Long) row[1], lastId, (String) row[2], (String) row[3]));
+            }
+            addAll(todos);
+            // 읽은 shard 기준으로 기록한다. (다른 shard 에서 옮겨온 todo 는 id 가 이 shard 구간이 아니다)
+            maxIndexedIds.merge(shard, lastId, Math::max);
+            indexed += rows.size();
+            if (rows.size() < CATCH_UP_BATCH_SIZE) {
+                break;
+            }
+        }
+        return indexed;
+    }
+
+    // 저장 트랜잭션이 롤백되면 색인하지 않는다.
+    public void indexAfterCommit(Long todoId, Long userId, String title, String contents) {
+        IndexedTodo todo = IndexedTodo.of(userId, todoId, title, contents);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(todo);
+                }
+            });
+            return;
+        }
+        add(todo);
+    }
+
+    // 여러 todo 를 커밋 후에 한 번에 색인한다. segment 기록(fsync)도 한 번이다.
+    public void indexAllAfterCommit(Long userId, List<Todo> todos) {
+        List<IndexedTodo> indexed = todos.stream()
+                .map(todo -> IndexedTodo.of(userId, todo.getId(), todo.getTitle(), todo.getContents()))
+                .toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addAll(indexed);
+                }
+            });
+            return;
+        }
+        addAll(indexed);
+    }
+
+    // 점수 내림차순(같으면 최신 id 먼저)으로 정렬된 todo id
+    public List<Long> search(Long userId, String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TodoTokenizer.tokenize(query)));
+        UserPartition partition = partitions.get(userId);
+        if (terms.isEmpty() || partition == null) {
+            return List.of();
+        }
+        return partition.search(terms);
+    }
+
+    // 검색 결과가 같은 검색어는 같은 문자열이 된다. (단어 순서/대소문자/중복 무시) 결과 캐시의 키로 쓴다.
+    public static String normalizeQuery(String query) {
+        return String.join(" ", new TreeSet<>(TodoTokenizer.tokenize(query)));
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (segments != null) {
+            segments.close();
+        }
+    }
+
+    private void add(IndexedTodo todo) {
+        addAll(List.of(todo));
+    }
+
+    private void addAll(List<IndexedTodo> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        todos.forEach(this::apply);
+        if (segments == null) {
+            todos.forEach(this::advance);
+            return;
+        }
+
+        appendLock.lock();
+        try {
+            unpersisted.addAll(todos);
+            try {
+                segments.append(unpersisted);
+            } catch (IOException e) {
+                log.error("검색 색인 segment 기록 실패. 다음 기록 때 다시 시도합니다. todoId: {}.. ({}건), 밀린 건수: {}",
+                        todos.get(0).getTodoId(), todos.size(), unpersisted.size(), e);
+                return;
+            }
+            unpersisted.forEach(this::advance);
+            unpersisted.clear();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void apply(IndexedTodo todo) {
+        partitions.computeIfAbsent(todo.getUserId(), id -> new UserPartition()).add(todo);
+    }
+
+    private void advance(IndexedTodo todo) {
+        maxIndexedIds.merge(ShardKeys.shardOf(todo.getTodoId()), todo.getTodoId(), Math::max);
+    }
+
+    private static final class UserPartition {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Set<Long> todoIds = new HashSet<>();
+
+        private void add(IndexedTodo todo) {
+            lock.writeLock().lock();
+            try {
+                // 시작 시 DB 동기화와 저장 직후 색인이 겹쳐도 한 번만 들어가게 한다.
+                if (!todoIds.add(todo.getTodoId())) {
+                    return;
+                }
+                todo.getTermWeights().forEach((term, weight) ->
+                        postings.computeIfAbsent(term, t -> new Postings()).add(todo.getTodoId(), weight));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private List<Long> search(List<String> terms) {
+            lock.readLock().lock();
+            try {
+                List<Postings> matched = new ArrayList<>(terms.size());
+                for (String term : terms) {
+                    Postings p = postings.get(term);
+                    if (p == null) {
+                        return List.of();
+                    }
+                    matched.add(p);
+                }
+                // 가장 짧은 목록을 기준으로 교집합을 만든다.
+                matched.sort(Comparator.comparingInt(p -> p.size));
+
+                int documents = todoIds.size();
+                Postings rarest = matched.get(0);
+                Map<Long, Hit> hits = new HashMap<>(rarest.size * 2);
+                double rarestIdf = idf(documents, rarest.size);
+                for (int i = 0; i < rarest.size; i++) {
+                    hits.put(rarest.ids[i], new Hit(rarest.ids[i], rarest.weights[i] * rarestIdf));
+                }
+
+                for (int t = 1; t < matched.size() && !hits.isEmpty(); t++) {
+                    Postings p = matched.get(t);
+                    double idf = idf(documents, p.size);
+                    for (int i = 0; i < p.size; i++) {
+                        Hit hit = hits.get(p.ids[i]);
+                        if (hit != null && hit.matchedTerms == t) {
+                            hit.score += p.weights[i] * idf;
+                            hit.matchedTerms++;
+                        }
+                    }
+                    int required = t + 1;
+                    hits.values().removeIf(hit -> hit.matchedTerms < required);
+                }
+
+                return hits.values().stream()
+                        .sorted(Comparator.comparingDouble((Hit hit) -> hit.score).reversed()
+                                .thenComparing(Comparator.comparingLong((Hit hit) -> hit.todoId).reversed()))
+                        .map(hit -> hit.todoId)
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static double idf(int documents, int documentFrequency) {
+            return Math.log(1 + (double) documents / documentFrequency);
+        }
+    }
+
+    // 단어 하나의 (todoId, 가중치) 목록. 박싱 없이 배열로 들고 있는다.
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        private void add(long todoId, int weight) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = todoId;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    private static final class Hit {
+
+        private final long todoId;
+        private double score;
+        private int matchedTerms = 1;
+
+        private Hit(long todoId, double score) {
+            this.todoId = todoId;
+            this.score = score;
+        }
+    }
+}
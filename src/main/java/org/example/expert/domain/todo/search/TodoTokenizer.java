@@ -0,0 +1,38 @@
+package org.example.expert.domain.todo.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+문자/숫자가 아닌 글자를 기준으로 자르고 소문자로 맞춘다.
+형태소 분석은 하지 않으므로 LIKE 처럼 부분 문자열이 아니라 단어 단위로 매칭된다.
+ */
+final class TodoTokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private TodoTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                // 너무 긴 토큰은 segment 레코드 크기를 넘지 않도록 자른다.
+                tokens.add(lower.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.expert.domain.todo.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.expert.domain.todo.entity.TodoCount;
+import org.example.expert.domain.todo.repository.TodoCountRepository;
+import org.example.expert.domain.todo.repository.TodoRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+유저별 todo 개수 관리.
+- 증가는 todo insert 와 같은 트랜잭션에서만 호출한다. (롤백되면 같이 롤백)
+  todo 삭제 기능이 생기면 같은 트랜잭션에서 감소도 해야 한다.
+- 카운터 row 가 없는 유저(기능 도입 전 데이터)는 다음 증가 때 count(*) 로 초기화하고,
+  그 전까지 조회는 count(*) 로 대신한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoCounter {
+
+    private final TodoCountRepository todoCountRepository;
+    private final TodoRepository todoRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increase(Long userId, long delta) {
+        if (todoCountRepository.addTodoCount(userId, delta) > 0) {
+            return;
+        }
+        // 방금 저장한 todo 까지 포함해서 센다. (JPQL 조회 전에 auto flush)
+        todoCountRepository.upsertTodoCount(userId, todoRepository.countByUserId(userId), delta);
+    }
+
+    public long getTotal(Long userId) {
+        return todoCountRepository.findById(userId)
+                .map(TodoCount::getTodoCount)
+                .orElseGet(() -> todoRepository.countByUserId(userId));
+    }
+}
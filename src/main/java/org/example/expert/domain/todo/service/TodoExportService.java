@@ -0,0 +1,177 @@
+package org.example.expert.domain.todo.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.domain.comment.dto.response.CommentResponse;
+import org.example.expert.domain.comment.repository.CommentRepository;
+import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.manager.dto.response.ManagerResponse;
+import org.example.expert.domain.manager.repository.ManagerRepository;
+import org.example.expert.domain.todo.dto.response.TodoExportResponse;
+import org.example.expert.domain.user.dto.response.UserResponse;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/*
+유저의 todo 전체를 NDJSON(한 줄에 todo 1건)으로 내보낸다.
+- todo 는 forward-only 스트림으로 읽어서 batch-size 건씩 쓰고, 쓸 때마다 영속성 컨텍스트를 비운다.
+- comments / managers 는 batch 단위로 todo_id IN (...) 한 번씩만 조회한다.
+row 수와 관계없이 메모리에는 batch 하나만 올라간다.
+MySQL 은 URL 에 useCursorFetch=true 가 있어야 fetch-size 만큼씩 서버 커서로 읽는다.
+ */
+@Slf4j
+@Service
+public class TodoExportService {
+
+    public static final String INCLUDE_COMMENTS = "comments";
+    public static final String INCLUDE_MANAGERS = "managers";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CommentRepository commentRepository;
+    private final ManagerRepository managerRepository;
+    private final ObjectWriter objectWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private final int fetchSize;
+
+    public TodoExportService(CommentRepository commentRepository,
+                             ManagerRepository managerRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${todo.export.batch-size:500}") int batchSize,
+                             @Value("${todo.export.fetch-size:500}") int fetchSize) {
+        this.commentRepository = commentRepository;
+        this.managerRepository = managerRepository;
+        // 줄마다 flush 하지 않고 batch 단위로 flush 한다.
+        this.objectWriter = objectMapper.writerFor(TodoExportResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    public static void validateIncludes(Set<String> includes) {
+        for (String include : includes) {
+            if (!INCLUDE_COMMENTS.equals(include) && !INCLUDE_MANAGERS.equals(include)) {
+                throw new InvalidRequestException("지원하지 않는 include 입니다: " + include);
+            }
+        }
+    }
+
+    // 내보낸 todo 개수를 반환한다.
+    public long export(Long userId, Set<String> includes, OutputStream outputStream) {
+        validateIncludes(includes);
+        boolean withComments = includes.contains(INCLUDE_COMMENTS);
+        boolean withManagers = includes.contains(INCLUDE_MANAGERS);
+
+        Long exported = readOnlyTransaction.execute(status -> {
+            try (JsonGenerator generator = newLineDelimitedGenerator(outputStream);
+                 Stream<Object[]> rows = entityManager.createQuery(
+                                 "SELECT t.id, t.title, t.contents, t.weather, t.createdAt, t.modifiedAt "
+                                         + "FROM Todo t WHERE t.user.id = :userId ORDER BY t.id", Object[].class)
+                         .setParameter("userId", userId)
+                         .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                         .setHint(HibernateHints.HINT_READ_ONLY, true)
+                         .getResultStream()) {
+
+                long count = 0;
+                List<Object[]> batch = new ArrayList<>(batchSize);
+                Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize) {
+                        count += writeBatch(generator, batch, withComments, withManagers);
+                        batch.clear();
+                    }
+                }
+                count += writeBatch(generator, batch, withComments, withManagers);
+                return count;
+            } catch (IOException e) {
+                // 클라이언트가 연결을 끊은 경우 등. 이미 응답을 쓰기 시작해서 상태 코드는 바꿀 수 없다.
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        log.info("exportTodos() 실행됨. userId: {}, includes: {}, 건수: {}", userId, includes, exported);
+        return exported;
+    }
+
+    private JsonGenerator newLineDelimitedGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectWriter.createGenerator(outputStream);
+        // 기본 구분자(공백) 대신 줄마다 직접 개행을 쓴다.
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private long writeBatch(JsonGenerator generator, List<Object[]> batch, boolean withComments, boolean withManagers) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> todoIds = batch.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, List<CommentResponse>> comments = withComments ? loadComments(todoIds) : null;
+        Map<Long, List<ManagerResponse>> managers = withManagers ? loadManagers(todoIds) : null;
+
+        for (Object[] row : batch) {
+            Long todoId = (Long) row[0];
+            TodoExportResponse line = new TodoExportResponse(
+                    todoId,
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (LocalDateTime) row[4],
+                    (LocalDateTime) row[5],
+                    comments != null ? comments.getOrDefault(todoId, List.of()) : null,
+                    managers != null ? managers.getOrDefault(todoId, List.of()) : null
+            );
+            objectWriter.writeValue(generator, line);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        // 스트림으로 읽은 row 가 영속성 컨텍스트에 쌓이지 않도록 batch 마다 비운다.
+        entityManager.clear();
+        return batch.size();
+    }
+
+    private Map<Long, List<CommentResponse>> loadComments(List<Long> todoIds) {
+        Map<Long, List<CommentResponse>> byTodoId = new HashMap<>();
+        for (Object[] row : commentRepository.findExportRowsByTodoIds(todoIds)) {
+            byTodoId.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new CommentResponse((Long) row[1], (String) row[2], new UserResponse((Long) row[3], (String) row[4])));
+        }
+        return byTodoId;
+    }
+
+    private Map<Long, List<ManagerResponse>> loadManagers(List<Long> todoIds) {
+        Map<Long, List<ManagerResponse>> byTodoId = new HashMap<>();
+        for (Object[] row : managerRepository.findExportRowsByTodoIds(todoIds)) {
+            byTodoId.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new ManagerResponse((Long) row[1], new UserResponse((Long) row[2], (String) row[3])));
+        }
+        return byTodoId;
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.expert.domain.todo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.common.exception.ServerException;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.user.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+GET /todos/{todoId} 응답 JSON 캐시. 직렬화까지 끝난 byte[] 를 todo id 별로 들고 있는다.
+- 전체 크기(max-bytes)를 넘으면 가장 오래 안 쓴 것부터 버리고, ttl 이 지나면 다시 조회한다.
+- todo / 담당자가 바뀌면 커밋 후에 지우고, 작성자 정보가 바뀌면 그 유저의 todo 를 모두 지운다.
+- 캐시에서 꺼낼 때도 작성자 확인은 그대로 한다.
+- 항목마다 넣을 때의 검증자(ETag)를 같이 두고, 방금 읽은 검증자와 다르면 버리고 다시 조회한다.
+  날씨 보강처럼 DB 커밋과 캐시 무효화 사이에 조회가 끼어도 새 ETag 에 이전 본문이 붙어 나가지 않는다.
+조회 도중에 무효화가 일어나면 조회한 값은 넣지 않는다. (이전 값을 다시 캐시하지 않도록)
+ */
+@Component
+public class TodoResponseCache {
+
+    // byte[] 외에 항목마다 드는 대략적인 메모리 (키, 엔트리, 배열 헤더 등)
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ObjectWriter objectWriter;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long ttlMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, CachedTodo> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<Long>> todoIdsByOwner = new HashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long usedBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public TodoResponseCache(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${todo.response-cache.enabled:true}") boolean enabled,
+                             @Value("${todo.response-cache.max-bytes:16777216}") long maxBytes,
+                             @Value("${todo.response-cache.ttl:60000}") long ttlMillis) {
+        this.objectWriter = objectMapper.writerFor(TodoResponse.class);
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+        this.hitCounter = meterRegistry.counter("todo.response.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("todo.response.cache", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("todo.response.cache.evictions");
+        meterRegistry.gauge("todo.response.cache.bytes", this, TodoResponseCache::getUsedBytes);
+        meterRegistry.gauge("todo.response.cache.size", this, TodoResponseCache::size);
+        meterRegistry.gauge("todo.response.cache.hit.ratio", this, TodoResponseCache::hitRatio);
+    }
+
+    // 캐시에 없거나 검증자(version)가 다르면 loader 로 조회한다. loader 는 작성자 확인까지 한 응답을 돌려줘야 한다.
+    public byte[] get(Long userId, long todoId, String version, Supplier<TodoResponse> loader) {
+        if (!enabled) {
+            return serialize(loader.get());
+        }
+
+        CachedTodo cached = lookup(todoId, version);
+        if (cached != null) {
+            hitCounter.increment();
+            if (!cached.ownerId.equals(userId)) {
+                throw new InvalidRequestException("죄송합니다. 해당 todo에 대한 권한이 없습니다.");
+            }
+            return cached.json;
+        }
+
+        missCounter.increment();
+        long stamp = invalidations.get();
+        TodoResponse response = loader.get();
+        byte[] json = serialize(response);
+        store(todoId, response.getUser().getId(), version, json, stamp);
+        return json;
+    }
+
+    // 쓰기 트랜잭션이 커밋된 뒤에 지운다. 롤백되면 그대로 둔다.
+    public void invalidateAfterCommit(long todoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(todoId);
+                }
+            });
+            return;
+        }
+        invalidate(todoId);
+    }
+
+    public void invalidate(long todoId) {
+        invalidateAll(Set.of(todoId));
+    }
+
+    public void invalidateAll(Collection<Long> todoIds) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            for (Long todoId : todoIds) {
+                remove(todoId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 응답에 들어가는 작성자 정보(email)가 바뀔 수 있으므로 그 유저의 todo 를 모두 지운다.
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            for (Long userId : event.getUserIds()) {
+                Set<Long> todoIds = todoIdsByOwner.get(userId);
+                if (todoIds != null) {
+                    for (Long todoId : new HashSet<>(todoIds)) {
+                        remove(todoId);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getUsedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private CachedTodo lookup(long todoId, String version) {
+        lock.lock();
+        try {
+            CachedTodo cached = entries.get(todoId);
+            if (cached != null && (cached.expiresAt <= System.currentTimeMillis() || !cached.version.equals(version))) {
+                remove(todoId);
+                return null;
+            }
+            return cached;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(long todoId, Long ownerId, String version, byte[] json, long stamp) {
+        long entryBytes = json.length + ENTRY_OVERHEAD_BYTES;
+        if (entryBytes > maxBytes) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (invalidations.get() != stamp) {
+                return;
+            }
+            remove(todoId);
+            entries.put(todoId, new CachedTodo(ownerId, version, json, System.currentTimeMillis() + ttlMillis));
+            todoIdsByOwner.computeIfAbsent(ownerId, id -> new HashSet<>()).add(todoId);
+            usedBytes += entryBytes;
+
+            // 접근 순서 LinkedHashMap 이라 앞쪽이 가장 오래 안 쓴 항목이다.
+            Iterator<Map.Entry<Long, CachedTodo>> eldest = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Long, CachedTodo> evicted = eldest.next();
+                eldest.remove();
+                forget(evicted.getKey(), evicted.getValue());
+                evictionCounter.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 을 잡은 상태에서만 호출한다.
+    private void remove(long todoId) {
+        CachedTodo removed = entries.remove(todoId);
+        if (removed != null) {
+            forget(todoId, removed);
+        }
+    }
+
+    private void forget(Long todoId, CachedTodo removed) {
+        usedBytes -= removed.json.length + ENTRY_OVERHEAD_BYTES;
+        Set<Long> todoIds = todoIdsByOwner.get(removed.ownerId);
+        if (todoIds != null && todoIds.remove(todoId) && todoIds.isEmpty()) {
+            todoIdsByOwner.remove(removed.ownerId);
+        }
+    }
+
+    private byte[] serialize(TodoResponse response) {
+        try {
+            return objectWriter.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new ServerException("todo 응답을 직렬화하지 못했습니다.");
+        }
+    }
+
+    private static final class CachedTodo {
+
+        private final Long ownerId;
+        private final String version;
+        private final byte[] json;
+        private final long expiresAt;
+
+        private CachedTodo(Long ownerId, String version, byte[] json, long expiresAt) {
+            this.ownerId = ownerId;
+            this.version = version;
+            this.json = json;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
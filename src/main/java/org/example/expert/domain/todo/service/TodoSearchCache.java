@@ -0,0 +1,267 @@
+package org.example.expert.domain.todo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.expert.domain.common.exception.ServerException;
+import org.example.expert.domain.todo.search.TodoSearchIndex;
+import org.example.expert.domain.user.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+GET /todos/search 응답 JSON 캐시. 키는 (유저, 유저의 쓰기 버전, 정규화한 검색 조건, page, size) 이다.
+- 유저의 todo 가 추가/수정/삭제되면 커밋 후에 그 유저의 버전을 올린다.
+  이전 버전 키는 다시 조회되지 않으므로 키를 찾아 지울 필요가 없고, 남은 항목은 LRU 로 밀려난다.
+- 전체 크기(max-bytes)를 넘으면 가장 오래 안 쓴 것부터 버리고, ttl 이 지나면 다시 조회한다.
+  (버전은 인스턴스 메모리에만 있어서 다른 인스턴스에서 쓴 내용은 ttl 이 지나야 보인다)
+버전은 조회 전에 읽는다. 조회 도중 커밋된 쓰기가 있으면 이미 지난 버전 키로 들어가서 다시 쓰이지 않는다.
+ */
+@Component
+public class TodoSearchCache {
+
+    // byte[] 외에 항목마다 드는 대략적인 메모리 (키, 엔트리, 배열 헤더 등)
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<SearchKey, CachedSearch> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public TodoSearchCache(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${todo.search-cache.enabled:true}") boolean enabled,
+                           @Value("${todo.search-cache.max-bytes:33554432}") long maxBytes,
+                           @Value("${todo.search-cache.ttl:60000}") long ttlMillis) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+        this.hitCounter = meterRegistry.counter("todo.search.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("todo.search.cache", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("todo.search.cache.evictions");
+        meterRegistry.gauge("todo.search.cache.bytes", this, TodoSearchCache::getUsedBytes);
+        meterRegistry.gauge("todo.search.cache.size", this, TodoSearchCache::size);
+    }
+
+    // 전체 개수까지 내려주는 페이지 검색
+    public byte[] getPage(Long userId, String q, String weather, LocalDateTime startDate, LocalDateTime endDate,
+                          int page, int size, Supplier<?> loader) {
+        return get(userId, "page", normalizeQuery(q), weather, startDate, endDate, page, size, loader);
+    }
+
+    // 전체 개수 없이 hasNext 만 내려주는 검색 (slice=true)
+    public byte[] getSlice(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate,
+                           int page, int size, Supplier<?> loader) {
+        return get(userId, "slice", null, weather, startDate, endDate, page, size, loader);
+    }
+
+    // 쓰기 트랜잭션이 커밋된 뒤에 버전을 올린다. 롤백되면 그대로 둔다.
+    public void bumpAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId);
+                }
+            });
+            return;
+        }
+        bump(userId);
+    }
+
+    public void bump(Long userId) {
+        versions.merge(userId, 1L, Long::sum);
+    }
+
+    public void bumpAll(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            bump(userId);
+        }
+    }
+
+    // 응답에 들어가는 작성자 정보(email)가 바뀔 수 있다.
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        bumpAll(event.getUserIds());
+    }
+
+    public long getUsedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] get(Long userId, String mode, String terms, String weather, LocalDateTime startDate, LocalDateTime endDate,
+                       int page, int size, Supplier<?> loader) {
+        if (!enabled) {
+            return serialize(loader.get());
+        }
+
+        SearchKey key = new SearchKey(userId, versions.getOrDefault(userId, 0L), mode, terms, weather, startDate, endDate, page, size);
+        byte[] cached = lookup(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+
+        missCounter.increment();
+        byte[] json = serialize(loader.get());
+        store(key, json);
+        return json;
+    }
+
+    // q 가 비어 있으면 키워드 검색이 아니다.
+    private static String normalizeQuery(String q) {
+        return q == null || q.isBlank() ? null : TodoSearchIndex.normalizeQuery(q);
+    }
+
+    private byte[] lookup(SearchKey key) {
+        lock.lock();
+        try {
+            CachedSearch cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                usedBytes -= cached.bytes;
+                return null;
+            }
+            return cached.json;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(SearchKey key, byte[] json) {
+        long entryBytes = json.length + ENTRY_OVERHEAD_BYTES;
+        if (entryBytes > maxBytes) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            CachedSearch replaced = entries.put(key, new CachedSearch(json, entryBytes, System.currentTimeMillis() + ttlMillis));
+            if (replaced != null) {
+                usedBytes -= replaced.bytes;
+            }
+            usedBytes += entryBytes;
+
+            // 접근 순서 LinkedHashMap 이라 앞쪽이 가장 오래 안 쓴 항목이다.
+            Iterator<CachedSearch> eldest = entries.values().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().bytes;
+                eldest.remove();
+                evictionCounter.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new ServerException("검색 응답을 직렬화하지 못했습니다.");
+        }
+    }
+
+    private static final class SearchKey {
+
+        private final Long userId;
+        private final long version;
+        private final String mode;
+        private final String terms;
+        private final String weather;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+        private final int page;
+        private final int size;
+
+        private SearchKey(Long userId, long version, String mode, String terms, String weather,
+                          LocalDateTime startDate, LocalDateTime endDate, int page, int size) {
+            this.userId = userId;
+            this.version = version;
+            this.mode = mode;
+            this.terms = terms;
+            this.weather = weather;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.page = page;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SearchKey other)) {
+                return false;
+            }
+            return version == other.version
+                    && page == other.page
+                    && size == other.size
+                    && userId.equals(other.userId)
+                    && mode.equals(other.mode)
+                    && Objects.equals(terms, other.terms)
+                    && Objects.equals(weather, other.weather)
+                    && Objects.equals(startDate, other.startDate)
+                    && Objects.equals(endDate, other.endDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, version, mode, terms, weather, startDate, endDate, page, size);
+        }
+    }
+
+    private static final class CachedSearch {
+
+        private final byte[] json;
+        private final long bytes;
+        private final long expiresAt;
+
+        private CachedSearch(byte[] json, long bytes, long expiresAt) {
+            this.json = json;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -4,21 +4,38 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.expert.client.WeatherClient;
 import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.common.dto.ResourceVersion;
 import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.todo.dto.TodoCursor;
+import org.example.expert.domain.todo.dto.request.TodoBulkSaveRequest;
 import org.example.expert.domain.todo.dto.request.TodoSaveRequest;
+import org.example.expert.domain.todo.dto.response.TodoBulkSaveResponse;
+import org.example.expert.domain.todo.dto.response.TodoCursorResponse;
 import org.example.expert.domain.todo.dto.response.TodoResponse;
 import org.example.expert.domain.todo.dto.response.TodoSaveResponse;
+import org.example.expert.domain.todo.dto.response.TodoSliceResponse;
 import org.example.expert.domain.todo.entity.Todo;
 import org.example.expert.domain.todo.repository.TodoRepository;
+import org.example.expert.domain.todo.search.TodoSearchIndex;
 import org.example.expert.domain.user.dto.response.UserResponse;
 import org.example.expert.domain.user.entity.User;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,8 +43,15 @@ import java.time.LocalDateTime;
 @Transactional(readOnly = true)
 public class TodoService {
 
+    // 커서 조회 한 번에 읽는 최대 개수 (size + 1 개를 읽는다)
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final TodoRepository todoRepository;
     private final WeatherClient weatherClient;
+    private final TodoWeatherEnricher todoWeatherEnricher;
+    private final TodoCounter todoCounter;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoSearchCache todoSearchCache;
 
     @Transactional
     public TodoSaveResponse saveTodo(AuthUser authUser, TodoSaveRequest todoSaveRequest) {
@@ -39,7 +63,8 @@ public class TodoService {
         User user = User.fromAuthUser(authUser);
         log.debug("TodoService User 객체 : {}", user);
 
-        String weather = weatherClient.getTodayWeather();
+        // 비동기 보강 모드에서는 날씨 API 를 기다리지 않고 weather 를 비워둔 채(pending) 저장한다.
+        String weather = todoWeatherEnricher.isEnabled() ? null : weatherClient.getTodayWeather();
         log.debug("TodoService weather : {}", weather);
 
         Todo newTodo = new Todo(
@@ -51,6 +76,14 @@ public class TodoService {
         Todo savedTodo = todoRepository.save(newTodo);
         log.debug("todoService 저장된 todo: {}", savedTodo);
 
+        todoCounter.increase(user.getId(), 1);
+        todoSearchIndex.indexAfterCommit(savedTodo.getId(), user.getId(), savedTodo.getTitle(), savedTodo.getContents());
+        todoSearchCache.bumpAfterCommit(user.getId());
+
+        if (weather == null) {
+            todoWeatherEnricher.enqueueAfterCommit(savedTodo.getId(), user.getId());
+        }
+
         return new TodoSaveResponse(
                 savedTodo.getId(),
                 savedTodo.getTitle(),
@@ -60,22 +93,54 @@ public class TodoService {
         );
     }
 
+    /*
+    여러 todo 를 한 트랜잭션에서 저장한다. 날씨는 한 번만 조회하고,
+    todo / 담당자 insert 는 시퀀스로 id 를 미리 받아두기 때문에 JDBC batch 로 나간다.
+     */
+    @Transactional
+    public TodoBulkSaveResponse saveTodos(AuthUser authUser, TodoBulkSaveRequest todoBulkSaveRequest) {
+        if (authUser == null) {
+            throw new InvalidRequestException("인증되지않은 사용자");
+        }
+
+        User user = User.fromAuthUser(authUser);
+        String weather = todoWeatherEnricher.isEnabled() ? null : weatherClient.getTodayWeather();
+
+        List<Todo> newTodos = new ArrayList<>(todoBulkSaveRequest.getTodos().size());
+        for (TodoSaveRequest request : todoBulkSaveRequest.getTodos()) {
+            newTodos.add(new Todo(request.getTitle(), request.getContents(), weather, user));
+        }
+        List<Todo> savedTodos = todoRepository.saveAll(newTodos);
+
+        todoCounter.increase(user.getId(), savedTodos.size());
+
+        List<Long> ids = new ArrayList<>(savedTodos.size());
+        for (Todo savedTodo : savedTodos) {
+            ids.add(savedTodo.getId());
+            if (weather == null) {
+                todoWeatherEnricher.enqueueAfterCommit(savedTodo.getId(), user.getId());
+            }
+        }
+        todoSearchIndex.indexAllAfterCommit(user.getId(), savedTodos);
+        // 색인이 끝난 뒤에 검색 캐시 버전을 올려야, 그 사이 검색이 새 todo 가 빠진 결과를 새 버전으로 캐시하지 않는다.
+        todoSearchCache.bumpAfterCommit(user.getId());
+
+        log.info("saveTodos() 실행됨. userId: {}, 건수: {}", user.getId(), ids.size());
+
+        return new TodoBulkSaveResponse(ids, weather);
+    }
+
     public Page<TodoResponse> getTodos(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page - 1, size);
 
-        Page<Todo> todos = todoRepository.findAllByUserIdOrderByModifiedAtDesc(userId, pageable);
+        // 엔티티를 만들지 않고 DTO 로 바로 projection
+        List<TodoResponse> content = todoRepository.findTodoResponsesByUserId(userId, pageable);
+        // 전체 개수는 count(*) 대신 유저별 카운터에서 읽는다. 마지막 페이지 등 필요 없으면 읽지 않는다.
+        Page<TodoResponse> todos = PageableExecutionUtils.getPage(content, pageable, () -> todoCounter.getTotal(userId));
 
         log.info("getTodos() 실행됨. userId: {}, page: {}, size: {}", userId, page, size);
 
-        return todos.map(todo -> new TodoResponse(
-                todo.getId(),
-                todo.getTitle(),
-                todo.getContents(),
-                todo.getWeather(),
-                new UserResponse(todo.getUser().getId(), todo.getUser().getEmail()),
-                todo.getCreatedAt(),
-                todo.getModifiedAt()
-        ));
+        return todos;
     }
 
     public TodoResponse getTodo(Long userId, long todoId) {
@@ -88,35 +153,133 @@ public class TodoService {
             throw new InvalidRequestException("죄송합니다. 해당 todo에 대한 권한이 없습니다.");
         }
 
-        User user = todo.getUser();
+        return toTodoResponse(todo);
+    }
 
-        return new TodoResponse(
-                todo.getId(),
-                todo.getTitle(),
-                todo.getContents(),
-                todo.getWeather(),
-                new UserResponse(user.getId(), user.getEmail()),
-                todo.getCreatedAt(),
-                todo.getModifiedAt()
-        );
+    // GET /todos/{todoId} 조건부 요청용. 응답을 만들지 않고 수정 시각 / 날씨 / 작성자만 읽는다.
+    public ResourceVersion getTodoVersion(Long userId, long todoId) {
+        List<Object[]> rows = todoRepository.findVersionRow(todoId);
+        if (rows.isEmpty()) {
+            throw new InvalidRequestException("Todo not found");
+        }
+
+        Object[] row = rows.get(0);
+        if (!userId.equals(row[2])) {
+            throw new InvalidRequestException("죄송합니다. 해당 todo에 대한 권한이 없습니다.");
+        }
+
+        LocalDateTime modifiedAt = (LocalDateTime) row[0];
+        return ResourceVersion.of(modifiedAt, "todo", todoId, modifiedAt, row[1]);
     }
 
-    // 검색 기능 추가. 날씨, 날짜 기준 필터링 가능
-    public Page<TodoResponse> searchTodos(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, int page, int size) {
+    // 검색 기능 추가. 날씨, 날짜 기준 필터링 가능. q 가 있으면 title/contents 키워드 검색 (관련도 순)
+    public Page<TodoResponse> searchTodos(Long userId, String q, String weather, LocalDateTime startDate, LocalDateTime endDate, int page, int size) {
+        if (q != null && !q.isBlank()) {
+            return searchTodosByKeyword(userId, q, weather, startDate, endDate, PageRequest.of(page - 1, size));
+        }
+
+        // 필터가 없으면 전체 목록과 같으므로 카운터를 쓰는 경로로 보낸다.
+        if (weather == null && startDate == null && endDate == null) {
+            return getTodos(userId, page, size);
+        }
+
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Todo> todos = todoRepository.searchTodos(userId, weather, startDate, endDate, pageable);
+        Page<TodoResponse> todos = todoRepository.searchTodoResponses(userId, weather, startDate, endDate, pageable);
 
         log.info("searchTodos() 실행됨. userId: {}, weather: {}, startDate: {}, endDate: {}", userId, weather, startDate, endDate);
 
-        return todos.map(todo -> new TodoResponse(
+        return todos;
+    }
+
+    /*
+    LIKE '%q%' 는 모든 row 를 읽어야 해서 역색인으로 후보 id 를 관련도 순으로 받고,
+    필터 확인과 응답 조회만 id IN (...) 으로 DB 에서 한다.
+     */
+    private Page<TodoResponse> searchTodosByKeyword(Long userId, String q, String weather, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        List<Long> rankedIds = todoSearchIndex.search(userId, q);
+
+        if (!rankedIds.isEmpty() && (weather != null || startDate != null || endDate != null)) {
+            Set<Long> matched = todoRepository.findTodoIdsMatching(userId, rankedIds, weather, startDate, endDate);
+            rankedIds = rankedIds.stream().filter(matched::contains).toList();
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        // IN 조회 결과를 색인 순위대로 다시 정렬
+        Map<Long, TodoResponse> byId = todoRepository.findTodoResponsesByIds(userId, pageIds).stream()
+                .collect(Collectors.toMap(TodoResponse::getId, Function.identity()));
+        List<TodoResponse> content = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+        log.info("searchTodosByKeyword() 실행됨. userId: {}, q: {}, 결과: {}건", userId, q, rankedIds.size());
+
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    // 필터 조건별 개수는 카운터로 유지할 수 없어서, 전체 개수 없이 hasNext 만 내려준다.
+    public TodoSliceResponse searchTodosSlice(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, int page, int size) {
+        Pageable pageable = PageRequest.of(page - 1, size);
+        Slice<TodoResponse> todos = todoRepository.searchTodoResponseSlice(userId, weather, startDate, endDate, pageable);
+
+        log.info("searchTodosSlice() 실행됨. userId: {}, weather: {}, startDate: {}, endDate: {}", userId, weather, startDate, endDate);
+
+        return new TodoSliceResponse(todos.getContent(), page, size, todos.hasNext());
+    }
+
+    // 커서 기반 목록 조회. offset 을 쓰지 않아서 깊은 페이지도 첫 페이지와 같은 비용
+    public TodoCursorResponse getTodosByCursor(Long userId, String cursor, int size) {
+        validateCursorPageSize(size);
+        TodoCursor todoCursor = TodoCursor.decode(cursor);
+
+        // 다음 페이지 존재 여부를 알기 위해 size + 1 개를 읽는다.
+        List<TodoResponse> todos = todoRepository.findTodoResponsesAfterCursor(userId, todoCursor, size + 1);
+
+        log.info("getTodosByCursor() 실행됨. userId: {}, cursor: {}, size: {}", userId, cursor, size);
+
+        return toCursorResponse(todos, size);
+    }
+
+    public TodoCursorResponse searchTodosByCursor(Long userId, String weather, LocalDateTime startDate, LocalDateTime endDate, String cursor, int size) {
+        validateCursorPageSize(size);
+        TodoCursor todoCursor = TodoCursor.decode(cursor);
+        List<TodoResponse> todos = todoRepository.searchTodoResponsesAfterCursor(userId, weather, startDate, endDate, todoCursor, size + 1);
+
+        log.info("searchTodosByCursor() 실행됨. userId: {}, weather: {}, startDate: {}, endDate: {}, cursor: {}", userId, weather, startDate, endDate, cursor);
+
+        return toCursorResponse(todos, size);
+    }
+
+    private static void validateCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidRequestException("size 는 1 이상 " + MAX_CURSOR_PAGE_SIZE + " 이하여야 합니다.");
+        }
+    }
+
+    private TodoCursorResponse toCursorResponse(List<TodoResponse> todos, int size) {
+        boolean hasNext = todos.size() > size;
+        List<TodoResponse> content = hasNext ? todos.subList(0, size) : todos;
+
+        String nextCursor = null;
+        if (hasNext) {
+            TodoResponse last = content.get(content.size() - 1);
+            nextCursor = new TodoCursor(last.getModifiedAt(), last.getId()).encode();
+        }
+
+        return new TodoCursorResponse(content, nextCursor, hasNext);
+    }
+
+    // Todo -> TodoResponse 매핑 (단건 조회용). user 는 fetch join 되어 있어야 추가 쿼리가 나가지 않는다.
+    static TodoResponse toTodoResponse(Todo todo) {
+        User user = todo.getUser();
+        return new TodoResponse(
                 todo.getId(),
                 todo.getTitle(),
                 todo.getContents(),
                 todo.getWeather(),
-                new UserResponse(todo.getUser().getId(), todo.getUser().getEmail()),
+                new UserResponse(user.getId(), user.getEmail()),
                 todo.getCreatedAt(),
                 todo.getModifiedAt()
-        ));
+        );
     }
-
 }
@@ -0,0 +1,269 @@
+package org.example.expert.domain.todo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.client.WeatherClient;
+import org.example.expert.config.ShardContext;
+import org.example.expert.config.ShardTopology;
+import org.example.expert.domain.todo.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+todo 저장 시점에 날씨 API 를 기다리지 않고, 저장 후 백그라운드에서 weather 를 채운다.
+todo.weather.async.enabled=true 일 때만 동작하며, 기본값은 기존처럼 동기 조회.
+
+- 저장 트랜잭션이 커밋된 뒤에 큐에 넣는다.
+- 날짜별로 묶어서 한 번의 UPDATE ... WHERE id IN (...) 로 채운다.
+- 실패하면 지수 백오프로 재시도하고, 최대 횟수를 넘기면 dead-letter 로 옮긴다.
+  dead-letter 는 메모리에만 있으므로 옮길 때와 넘쳐서 버릴 때 모두 error 로그를 남긴다. (weather 가 null 인 채로 남으므로 재시작 시 복구 대상이다)
+- 큐 크기와 dead-letter 건수는 todo.weather.queue.size / todo.weather.dead.letters 게이지로 보고,
+  dead-letter 는 POST /admin/todos/weather/dead-letters/retry 로 다시 처리 큐에 넣는다.
+- 날짜, 백오프 시각은 주입받은 clock 으로 계산한다. WeatherClient 와 같은 기준이어야 자정 무렵에도 생성일 날씨를 조회한다.
+- 샤딩을 켜면 저장한 shard 를 같이 기억해두고 shard 별로 UPDATE 한다.
+ */
+@Slf4j
+@Component
+public class TodoWeatherEnricher {
+
+    private static final long BASE_BACKOFF_MILLIS = 1_000L;
+    private static final int MAX_DEAD_LETTERS = 10_000;
+
+    private final WeatherClient weatherClient;
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardTopology shardTopology;
+    private final TodoResponseCache todoResponseCache;
+    private final TodoSearchCache todoSearchCache;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Clock clock;
+
+    private final Queue<PendingWeather> queue = new ConcurrentLinkedQueue<>();
+    private final Queue<PendingWeather> deadLetters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deadLetterCount = new AtomicInteger();
+
+    @Autowired
+    public TodoWeatherEnricher(WeatherClient weatherClient,
+                               TodoRepository todoRepository,
+                               PlatformTransactionManager transactionManager,
+                               ShardTopology shardTopology,
+                               TodoResponseCache todoResponseCache,
+                               TodoSearchCache todoSearchCache,
+                               MeterRegistry meterRegistry,
+                               @Value("${todo.weather.async.enabled:false}") boolean enabled,
+                               @Value("${todo.weather.async.batch-size:100}") int batchSize,
+                               @Value("${todo.weather.async.max-attempts:5}") int maxAttempts) {
+        this(weatherClient, todoRepository, transactionManager, shardTopology, todoResponseCache, todoSearchCache, meterRegistry,
+                enabled, batchSize, maxAttempts, Clock.systemDefaultZone());
+    }
+
+    TodoWeatherEnricher(WeatherClient weatherClient,
+                        TodoRepository todoRepository,
+                        PlatformTransactionManager transactionManager,
+                        ShardTopology shardTopology,
+                        TodoResponseCache todoResponseCache,
+                        TodoSearchCache todoSearchCache,
+                        MeterRegistry meterRegistry,
+                        boolean enabled,
+                        int batchSize,
+                        int maxAttempts,
+                        Clock clock) {
+        this.weatherClient = weatherClient;
+        this.todoRepository = todoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardTopology = shardTopology;
+        this.todoResponseCache = todoResponseCache;
+        this.todoSearchCache = todoSearchCache;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.clock = clock;
+        meterRegistry.gauge("todo.weather.queue.size", this, TodoWeatherEnricher::getQueueSize);
+        meterRegistry.gauge("todo.weather.dead.letters", deadLetterCount);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 저장 트랜잭션이 롤백되면 큐에 넣지 않는다. 생성일은 저장 시점의 clock 기준 날짜.
+    public void enqueueAfterCommit(Long todoId, Long userId) {
+        PendingWeather pending = new PendingWeather(todoId, userId, ShardContext.current(), LocalDate.now(clock), 0, 0L);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.offer(pending);
+                }
+            });
+            return;
+        }
+        queue.offer(pending);
+    }
+
+    // 재시작 등으로 큐가 비어버린 대기 todo 를 다시 넣는다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingTodos() {
+        if (!enabled) {
+            return;
+        }
+
+        AtomicInteger recovered = new AtomicInteger();
+        shardTopology.forEachShard(() -> {
+            int shard = ShardContext.current();
+            for (Object[] row : todoRepository.findWeatherPendingTodos()) {
+                LocalDateTime createdAt = (LocalDateTime) row[2];
+                LocalDate createdDate = createdAt != null ? createdAt.toLocalDate() : LocalDate.now(clock);
+                queue.offer(new PendingWeather((Long) row[0], (Long) row[1], shard, createdDate, 0, 0L));
+                recovered.incrementAndGet();
+            }
+        });
+        log.info("날씨 보강 대기 todo 복구: {}건", recovered.get());
+    }
+
+    @Scheduled(fixedDelayString = "${todo.weather.async.poll-interval:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        List<PendingWeather> batch = drainReady(clock.millis());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Map<LocalDate, List<PendingWeather>>> byShardAndDate = new LinkedHashMap<>();
+        for (PendingWeather pending : batch) {
+            byShardAndDate.computeIfAbsent(pending.shard, s -> new LinkedHashMap<>())
+                    .computeIfAbsent(pending.createdDate, d -> new ArrayList<>()).add(pending);
+        }
+
+        byShardAndDate.forEach((shard, byDate) -> byDate.forEach((date, pendings) -> enrich(shard, date, pendings)));
+    }
+
+    private void enrich(int shard, LocalDate date, List<PendingWeather> pendings) {
+        List<Long> ids = pendings.stream().map(p -> p.todoId).toList();
+        try {
+            String weather = weatherClient.getWeather(date);
+            Integer updated = ShardContext.callIn(shard,
+                    () -> transactionTemplate.execute(status -> todoRepository.fillPendingWeather(ids, weather)));
+            todoResponseCache.invalidateAll(ids);
+            todoSearchCache.bumpAll(pendings.stream().map(p -> p.userId).distinct().toList());
+            log.debug("날씨 보강 완료. date: {}, 요청: {}건, 반영: {}건", date, ids.size(), updated);
+        } catch (RuntimeException e) {
+            log.warn("날씨 보강 실패. date: {}, {}건 재시도 예정: {}", date, ids.size(), e.getMessage());
+            List<Long> deadLettered = pendings.stream().filter(this::retryOrDeadLetter).map(p -> p.todoId).toList();
+            if (!deadLettered.isEmpty()) {
+                log.error("날씨 보강 재시도 초과, dead-letter 로 이동. shard: {}, date: {}, todoIds: {}", shard, date, deadLettered, e);
+            }
+        }
+    }
+
+    private List<PendingWeather> drainReady(long now) {
+        List<PendingWeather> batch = new ArrayList<>(batchSize);
+        List<PendingWeather> notReady = new ArrayList<>();
+
+        PendingWeather pending;
+        while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+            if (pending.nextAttemptAt > now) {
+                notReady.add(pending);
+            } else {
+                batch.add(pending);
+            }
+        }
+        queue.addAll(notReady);
+        return batch;
+    }
+
+    // dead-letter 로 옮겼으면 true. 로그는 호출한 쪽에서 묶어서 남긴다.
+    private boolean retryOrDeadLetter(PendingWeather pending) {
+        int attempts = pending.attempts + 1;
+        if (attempts >= maxAttempts) {
+            addDeadLetter(new PendingWeather(pending.todoId, pending.userId, pending.shard, pending.createdDate, attempts, 0L));
+            return true;
+        }
+
+        long backoff = BASE_BACKOFF_MILLIS << Math.min(attempts, 10);
+        queue.offer(new PendingWeather(pending.todoId, pending.userId, pending.shard, pending.createdDate, attempts, clock.millis() + backoff));
+        return false;
+    }
+
+    private void addDeadLetter(PendingWeather pending) {
+        deadLetters.offer(pending);
+        // 메모리가 무한히 늘지 않도록 오래된 것부터 버린다. 버려진 todo 도 재시작 시 복구 대상이다.
+        if (deadLetterCount.incrementAndGet() > MAX_DEAD_LETTERS) {
+            PendingWeather dropped = deadLetters.poll();
+            if (dropped != null) {
+                deadLetterCount.decrementAndGet();
+                log.error("dead-letter 가 가득 차서 버림. todoId: {}, userId: {}, shard: {}, date: {}",
+                        dropped.todoId, dropped.userId, dropped.shard, dropped.createdDate);
+            }
+        }
+    }
+
+    public List<Long> getDeadLetterTodoIds() {
+        return deadLetters.stream().map(p -> p.todoId).toList();
+    }
+
+    // dead-letter 에 쌓인 todo 를 다시 처리 큐로 옮기고, 옮긴 todo id 를 돌려준다.
+    public List<Long> retryDeadLetters() {
+        List<Long> moved = new ArrayList<>();
+        PendingWeather pending;
+        while ((pending = deadLetters.poll()) != null) {
+            deadLetterCount.decrementAndGet();
+            queue.offer(new PendingWeather(pending.todoId, pending.userId, pending.shard, pending.createdDate, 0, 0L));
+            moved.add(pending.todoId);
+        }
+        return moved;
+    }
+
+    public int getDeadLetterCount() {
+        return deadLetterCount.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private static final class PendingWeather {
+
+        private final Long todoId;
+        private final Long userId;
+        private final int shard;
+        private final LocalDate createdDate;
+        private final int attempts;
+        private final long nextAttemptAt;
+
+        private PendingWeather(Long todoId, Long userId, int shard, LocalDate createdDate, int attempts, long nextAttemptAt) {
+            this.todoId = todoId;
+            this.userId = userId;
+            this.shard = shard;
+            this.createdDate = createdDate;
+            this.attempts = attempts;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+    }
+}
@@ -1,23 +1,48 @@
 package org.example.expert.domain.user.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.example.expert.domain.todo.controller.TodoExportController;
 import org.example.expert.domain.user.dto.request.UserRoleChangeRequest;
 import org.example.expert.domain.user.service.UserAdminService;
+import org.example.expert.domain.user.service.UserImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequiredArgsConstructor
 public class UserAdminController {
 
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final UserAdminService userAdminService;
+    private final UserImportService userImportService;
 
     @PatchMapping("/admin/users/{userId}")
     public void changeUserRole(@PathVariable long userId, @RequestBody UserRoleChangeRequest userRoleChangeRequest) {
         userAdminService.changeUserRole(userId, userRoleChangeRequest);
     }
 
+    // CSV(헤더 포함) 또는 NDJSON 으로 유저를 일괄 생성한다. 결과는 입력 줄마다 한 줄씩 NDJSON 으로 내려준다.
+    @PostMapping(value = "/admin/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) throws IOException {
+        UserImportService.Format format = TEXT_CSV.includes(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        // 요청 본문도 응답과 같이 스트리밍 스레드에서 읽는다.
+        InputStream inputStream = request.getInputStream();
 
+        return ResponseEntity.ok()
+                .contentType(TodoExportController.APPLICATION_NDJSON)
+                .body(outputStream -> userImportService.importUsers(format, inputStream, outputStream));
+    }
 }
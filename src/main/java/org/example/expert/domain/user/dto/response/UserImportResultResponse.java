@@ -0,0 +1,40 @@
+package org.example.expert.domain.user.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+// import 결과 한 줄(입력 row 1건). line 은 입력의 몇 번째 줄인지 (1부터, CSV 헤더 포함)
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResultResponse {
+
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID = "INVALID";
+
+    private final long line;
+    private final String email;
+    private final String status;
+    private final Long userId;
+    private final String message;
+
+    private UserImportResultResponse(long line, String email, String status, Long userId, String message) {
+        this.line = line;
+        this.email = email;
+        this.status = status;
+        this.userId = userId;
+        this.message = message;
+    }
+
+    public static UserImportResultResponse created(long line, String email, Long userId) {
+        return new UserImportResultResponse(line, email, CREATED, userId, null);
+    }
+
+    public static UserImportResultResponse duplicate(long line, String email) {
+        return new UserImportResultResponse(line, email, DUPLICATE, null, "이미 존재하는 이메일입니다.");
+    }
+
+    public static UserImportResultResponse invalid(long line, String email, String message) {
+        return new UserImportResultResponse(line, email, INVALID, null, message);
+    }
+}
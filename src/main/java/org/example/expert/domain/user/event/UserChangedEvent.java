@@ -0,0 +1,22 @@
+package org.example.expert.domain.user.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 유저 정보가 바뀐 트랜잭션이 커밋되면 처리된다. (shard 복제 등) 일괄 import 는 batch 의 유저를 한 이벤트에 담는다.
+@Getter
+public class UserChangedEvent {
+
+    private final List<Long> userIds;
+    private final boolean created;
+
+    public UserChangedEvent(Long userId, boolean created) {
+        this(List.of(userId), created);
+    }
+
+    public UserChangedEvent(List<Long> userIds, boolean created) {
+        this.userIds = List.copyOf(userIds);
+        this.created = created;
+    }
+}
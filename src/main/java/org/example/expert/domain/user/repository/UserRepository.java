@@ -1,11 +1,29 @@
 package org.example.expert.domain.user.repository;
 
+import jakarta.persistence.LockModeType;
 import org.example.expert.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryNaturalId {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // 일괄 import 에서 batch 단위로 한 번에 중복을 확인한다.
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /*
+    로그인 시 재해시용. 잠근 뒤 비밀번호가 그대로인지 보고 엔티티를 고친다.
+    JPQL UPDATE 는 하이버네이트가 User 2차 캐시 region 전체를 비우므로 쓰지 않는다. (엔티티 수정은 그 유저 항목만 갱신)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> findByIdForUpdate(@Param("userId") Long userId);
 }
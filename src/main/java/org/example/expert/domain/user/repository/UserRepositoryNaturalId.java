@@ -0,0 +1,11 @@
+package org.example.expert.domain.user.repository;
+
+import org.example.expert.domain.user.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryNaturalId {
+
+    // email(natural-id) 로 조회. 2차 캐시에 있으면 SQL 을 실행하지 않는다.
+    Optional<User> findByEmailNaturalId(String email);
+}
@@ -0,0 +1,226 @@
+package org.example.expert.domain.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/*
+가입된 이메일의 Bloom filter. 회원가입 때 "확실히 없는" 이메일이면 existsByEmail 조회를 건너뛴다.
+- 기동할 때 users.email 을 스트림으로 한 번 읽어서 만들고, 이후 가입은 add 로 넣는다.
+- 있다고 나오면 실제로는 없을 수도 있으므로(false positive) 그때만 existsByEmail 로 확인한다.
+- 중복 가입의 최종 판단은 users.email unique 제약이다. 다른 인스턴스에서 가입했거나 만드는 도중에 들어온 이메일이 빠져 있어도
+  insert 가 제약에 걸리므로 결과는 같고, bcrypt 한 번을 헛되이 쓸 뿐이다.
+- 크기는 max(expected-users, 기동 시 유저 수 x 2) 명 기준으로 fpp 에 맞춘다. 유저 수가 그보다 많아지면 fpp 가 오르므로
+  user.email.filter.fpp 게이지를 보고 재기동(다시 만들기) 시점을 정한다.
+  예) 1000만 명 기준, fpp 1% : 9,585만 비트 = 약 11.4MiB, 해시 7개
+      기동 시 이미 1000만 명이면 2000만 명 기준(약 22.9MiB)으로 잡히고, 그 상태의 fpp 는 약 0.03% 이다.
+bit 는 AtomicLongArray 에 CAS 로 켜기만 하므로 락 없이 여러 가입 요청이 동시에 넣을 수 있다.
+이메일은 소문자로 바꿔서 넣는다. DB 비교가 대소문자를 구분하지 않아도 빠뜨리지 않는다.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final int fetchSize;
+
+    // load 가 끝나기 전에는 null 이고, 그동안은 모두 "있을 수 있음"으로 답한다.
+    private volatile Bits bits;
+
+    private final Counter missCounter;
+    private final Counter hitCounter;
+    private final Counter falsePositiveCounter;
+
+    public RegisteredEmailFilter(PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${user.email-filter.enabled:true}") boolean enabled,
+                                 @Value("${user.email-filter.expected-users:1000000}") long expectedUsers,
+                                 @Value("${user.email-filter.fpp:0.01}") double falsePositiveRate,
+                                 @Value("${user.email-filter.fetch-size:1000}") int fetchSize) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.fetchSize = fetchSize;
+
+        this.missCounter = meterRegistry.counter("user.email.filter", "result", "miss");
+        this.hitCounter = meterRegistry.counter("user.email.filter", "result", "hit");
+        this.falsePositiveCounter = meterRegistry.counter("user.email.filter", "result", "false-positive");
+        meterRegistry.gauge("user.email.filter.bytes", this, filter -> filter.bits == null ? 0 : filter.bits.bytes());
+        meterRegistry.gauge("user.email.filter.fpp", this, filter -> filter.bits == null ? 0 : filter.bits.expectedFpp());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        Bits loaded;
+        try {
+            loaded = build();
+        } catch (RuntimeException e) {
+            // 없어도 existsByEmail 로 확인하던 예전 동작이 될 뿐이다.
+            bits = null;
+            log.error("가입 이메일 Bloom filter 를 만들지 못했습니다. 가입 시 매번 existsByEmail 로 확인합니다.", e);
+            return;
+        }
+        loaded.ready = true;
+        log.info("가입 이메일 Bloom filter: {}건, {}KB, 해시 {}개, 예상 fpp {} ({}ms)",
+                loaded.inserted.get(), loaded.bytes() >> 10, loaded.hashes, loaded.expectedFpp(),
+                System.currentTimeMillis() - startedAt);
+    }
+
+    private Bits build() {
+        return readOnlyTransaction.execute(status -> {
+            long users = entityManager.createQuery("SELECT COUNT(u) FROM User u", Long.class).getSingleResult();
+            Bits filter = Bits.of(Math.max(expectedUsers, users * 2), falsePositiveRate);
+            // 읽는 동안 가입한 이메일도 빠지지 않도록 먼저 공개하고 채운다. (다 채우기 전에는 mightContain 에 쓰지 않는다)
+            bits = filter;
+            try (Stream<String> emails = entityManager.createQuery("SELECT u.email FROM User u", String.class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                Iterator<String> iterator = emails.iterator();
+                while (iterator.hasNext()) {
+                    filter.put(normalize(iterator.next()));
+                }
+            }
+            return filter;
+        });
+    }
+
+    // false 면 확실히 가입되지 않은 이메일이다.
+    public boolean mightContain(String email) {
+        Bits current = bits;
+        if (current == null || !current.ready) {
+            return true;
+        }
+        boolean contained = current.mightContain(normalize(email));
+        (contained ? hitCounter : missCounter).increment();
+        return contained;
+    }
+
+    public void add(String email) {
+        Bits current = bits;
+        if (current != null) {
+            current.put(normalize(email));
+        }
+    }
+
+    // mightContain 이 true 였는데 실제로는 없던 경우. 실제 fpp 를 보려고 센다.
+    public void recordFalsePositive() {
+        Bits current = bits;
+        if (current != null && current.ready) {
+            falsePositiveCounter.increment();
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashes;
+        private final AtomicLong inserted = new AtomicLong();
+        private volatile boolean ready;
+
+        private Bits(long bitCount, int hashes) {
+            this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) >>> 6));
+            this.bitCount = bitCount;
+            this.hashes = hashes;
+        }
+
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        static Bits of(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+            int hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+            return new Bits(bitCount, hashes);
+        }
+
+        void put(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word = words.get(index);
+                while ((word & mask) == 0) {
+                    long witness = words.compareAndExchange(index, word, word | mask);
+                    if (witness == word) {
+                        break;
+                    }
+                    word = witness;
+                }
+            }
+            inserted.incrementAndGet();
+        }
+
+        boolean mightContain(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bytes() {
+            return (long) words.length() * Long.BYTES;
+        }
+
+        // 지금까지 넣은 수 기준 (1 - e^(-kn/m))^k
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-(double) hashes * inserted.get() / bitCount), hashes);
+        }
+
+        // FNV-1a 뒤에 splitmix64 로 비트를 고르게 편다.
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 30;
+            h *= 0xbf58476d1ce4e5b9L;
+            h ^= h >>> 27;
+            h *= 0x94d049bb133111ebL;
+            return h ^ (h >>> 31);
+        }
+    }
+}
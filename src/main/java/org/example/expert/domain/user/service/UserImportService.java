@@ -0,0 +1,452 @@
+package org.example.expert.domain.user.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.expert.config.PasswordEncoder;
+import org.example.expert.domain.auth.dto.request.SignupRequest;
+import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.user.dto.response.UserImportResultResponse;
+import org.example.expert.domain.user.enums.UserRole;
+import org.example.expert.domain.user.event.UserChangedEvent;
+import org.example.expert.domain.user.repository.UserRepository;
+import org.hibernate.JDBCException;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/*
+관리자 일괄 가입(import). CSV(첫 줄은 헤더: email,password,nickname,userRole) 또는 NDJSON(한 줄에 SignupRequest 1건)을 읽는다.
+- batch-size 줄씩 처리하고 결과를 줄마다 NDJSON 으로 바로 쓴다. 입력 크기와 관계없이 메모리에는 batch 두 개만 있다.
+- 검증은 /auth/signup 과 같은 SignupRequest 제약을 쓴다.
+- bcrypt 는 import 전용 ForkJoinPool 에서 row 마다 task 로 돌린다. 해시가 코어 수만큼 동시에 돌아서 처리량이 코어 수에 비례한다.
+  로그인용 PasswordHashExecutor 와 풀을 나눠서 import 때문에 로그인이 503 으로 거절되지는 않는다. (CPU 는 같이 쓴다)
+- 다음 batch 의 해시를 먼저 걸어 두고 이전 batch 를 insert 해서, DB 에 쓰는 동안에도 코어가 쉬지 않는다.
+- 중복 확인은 Bloom filter 에 있을 수도 있는 이메일만 batch 당 IN 쿼리 1번으로 한다.
+- insert 는 batch 당 트랜잭션 1개, JDBC batch 1번. MySQL 은 URL 에 rewriteBatchedStatements=true 가 있어야 multi-row insert 로 나간다.
+  그 사이 다른 가입과 겹쳐 unique 제약에 걸리면 그 batch 만 한 줄씩 다시 넣어서 어느 줄이 중복인지 알려준다.
+- batch 마다 만든 유저 id 를 모두 담은 UserChangedEvent 하나를 발행한다. 커밋 후 shard 복제, 캐시 무효화가 signup 과 같게 일어나고,
+  복제는 batch 단위 IN 조회 / JDBC batch 로 한다.
+CSV 는 큰따옴표로 감싼 값(쉼표, "" 포함)을 지원하지만 값 안의 줄바꿈은 지원하지 않는다.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (email, password, nickname, user_role, created_at, modified_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final List<String> CSV_COLUMNS = List.of("email", "password", "nickname", "userrole");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashPool;
+    private final int batchSize;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             RegisteredEmailFilter registeredEmailFilter,
+                             ApplicationEventPublisher eventPublisher,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${user.import.batch-size:500}") int batchSize,
+                             @Value("${user.import.parallelism:0}") int parallelism) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(SignupRequest.class);
+        // 줄마다 flush 하지 않고 batch 단위로 flush 한다.
+        this.resultWriter = objectMapper.writerFor(UserImportResultResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+    }
+
+    // 만든 유저 수를 반환한다.
+    public long importUsers(Format format, InputStream inputStream, OutputStream outputStream) {
+        long startedAt = System.currentTimeMillis();
+        long created = 0;
+        long lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+             JsonGenerator generator = newLineDelimitedGenerator(outputStream)) {
+
+            Map<String, Integer> csvColumns = null;
+            if (format == Format.CSV) {
+                lineNumber++;
+                String header = reader.readLine();
+                csvColumns = parseCsvHeader(header);
+                if (csvColumns == null) {
+                    write(generator, List.of(UserImportResultResponse.invalid(lineNumber, null,
+                            "CSV 헤더에 " + String.join(", ", CSV_COLUMNS) + " 열이 있어야 합니다.")));
+                    return 0;
+                }
+            }
+
+            Batch pending = null;
+            List<Row> rows = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                rows.add(parse(lineNumber, line, format, csvColumns));
+                if (rows.size() == batchSize) {
+                    Batch next = prepare(rows, pending);
+                    created += complete(pending, generator);
+                    pending = next;
+                    rows = new ArrayList<>(batchSize);
+                }
+            }
+            Batch last = rows.isEmpty() ? null : prepare(rows, pending);
+            created += complete(pending, generator);
+            created += complete(last, generator);
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊은 경우 등. 이미 응답을 쓰기 시작해서 상태 코드는 바꿀 수 없다.
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("importUsers() 실행됨. 줄 수: {}, 생성: {}, {}ms", lineNumber, created, System.currentTimeMillis() - startedAt);
+        return created;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    private Row parse(long lineNumber, String line, Format format, Map<String, Integer> csvColumns) {
+        if (format == Format.NDJSON) {
+            try {
+                SignupRequest request = requestReader.readValue(line);
+                return request != null ? new Row(lineNumber, request) : Row.invalid(lineNumber, null, "JSON 형식이 아닙니다.");
+            } catch (JsonProcessingException e) {
+                return Row.invalid(lineNumber, null, "JSON 형식이 아닙니다.");
+            }
+        }
+
+        List<String> values = parseCsvLine(line);
+        if (values.size() < csvColumns.size()) {
+            return Row.invalid(lineNumber, null, "열 개수가 헤더보다 적습니다.");
+        }
+        return new Row(lineNumber, new SignupRequest(
+                values.get(csvColumns.get("email")),
+                values.get(csvColumns.get("password")),
+                values.get(csvColumns.get("nickname")),
+                values.get(csvColumns.get("userrole"))));
+    }
+
+    /*
+    검증, 중복 확인을 하고 통과한 row 의 해시를 풀에 걸어 둔다. (기다리지 않는다)
+    앞 batch 는 아직 insert 전이라 DB 조회로는 보이지 않으므로, 앞 batch 에서 받은 이메일은 메모리에서 거른다.
+     */
+    private Batch prepare(List<Row> rows, Batch pending) {
+        Set<String> seen = new HashSet<>();
+        if (pending != null) {
+            seen.addAll(pending.acceptedEmails);
+        }
+        List<Row> candidates = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.result != null) {
+                continue;
+            }
+            String message = validate(row);
+            if (message != null) {
+                row.result = UserImportResultResponse.invalid(row.line, row.request.getEmail(), message);
+                continue;
+            }
+            if (!seen.add(row.normalizedEmail())) {
+                row.result = UserImportResultResponse.duplicate(row.line, row.request.getEmail());
+                continue;
+            }
+            candidates.add(row);
+        }
+
+        markExisting(candidates);
+
+        Batch batch = new Batch(rows);
+        for (Row row : candidates) {
+            if (row.result == null) {
+                String rawPassword = row.request.getPassword();
+                row.hashing = hashPool.submit(() -> passwordEncoder.encodeOnCallerThread(rawPassword));
+                batch.accepted.add(row);
+                batch.acceptedEmails.add(row.normalizedEmail());
+            }
+        }
+        return batch;
+    }
+
+    private String validate(Row row) {
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<SignupRequest> violation = violations.iterator().next();
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+        try {
+            row.role = UserRole.of(row.request.getUserRole());
+        } catch (InvalidRequestException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    // Bloom filter 에서 확실히 없는 이메일은 조회하지 않는다.
+    private void markExisting(List<Row> candidates) {
+        List<String> mightExist = new ArrayList<>();
+        for (Row row : candidates) {
+            if (registeredEmailFilter.mightContain(row.request.getEmail())) {
+                mightExist.add(row.request.getEmail());
+            }
+        }
+        if (mightExist.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>();
+        for (String email : userRepository.findExistingEmails(mightExist)) {
+            existing.add(email.trim().toLowerCase(Locale.ROOT));
+        }
+        for (Row row : candidates) {
+            if (existing.contains(row.normalizedEmail())) {
+                row.result = UserImportResultResponse.duplicate(row.line, row.request.getEmail());
+            }
+        }
+        for (int i = existing.size(); i < mightExist.size(); i++) {
+            registeredEmailFilter.recordFalsePositive();
+        }
+    }
+
+    // 해시를 기다려서 insert 하고 batch 의 결과를 입력 순서대로 쓴다. 만든 유저 수를 반환한다.
+    private long complete(Batch batch, JsonGenerator generator) throws IOException {
+        if (batch == null) {
+            return 0;
+        }
+
+        List<Row> hashed = new ArrayList<>(batch.accepted.size());
+        for (Row row : batch.accepted) {
+            try {
+                row.encodedPassword = row.hashing.join();
+                hashed.add(row);
+            } catch (RuntimeException e) {
+                log.warn("import 비밀번호 해시 실패. line: {}", row.line, e);
+                row.result = UserImportResultResponse.invalid(row.line, row.request.getEmail(), "비밀번호를 해시하지 못했습니다.");
+            }
+        }
+
+        long created = 0;
+        if (!hashed.isEmpty()) {
+            try {
+                created += insert(hashed);
+            } catch (JDBCException e) {
+                // 사이에 다른 가입이 같은 이메일을 넣었거나 DB 가 거절한 줄이 있다. 어느 줄인지 찾으려고 한 줄씩 다시 넣는다.
+                for (Row row : hashed) {
+                    try {
+                        created += insert(List.of(row));
+                    } catch (ConstraintViolationException duplicate) {
+                        row.result = UserImportResultResponse.duplicate(row.line, row.request.getEmail());
+                    } catch (JDBCException failed) {
+                        log.warn("import 저장 실패. line: {}", row.line, failed);
+                        row.result = UserImportResultResponse.invalid(row.line, row.request.getEmail(), "저장하지 못했습니다.");
+                    }
+                }
+            }
+        }
+
+        List<UserImportResultResponse> results = new ArrayList<>(batch.rows.size());
+        for (Row row : batch.rows) {
+            results.add(row.result);
+        }
+        write(generator, results);
+        return created;
+    }
+
+    private int insert(List<Row> rows) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> generatedIds = entityManager.unwrap(Session.class).doReturningWork(connection -> insert(connection, rows));
+            eventPublisher.publishEvent(new UserChangedEvent(generatedIds, true));
+            return generatedIds;
+        });
+
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            row.result = UserImportResultResponse.created(row.line, row.request.getEmail(), ids.get(i));
+            registeredEmailFilter.add(row.request.getEmail());
+        }
+        return rows.size();
+    }
+
+    private static List<Long> insert(Connection connection, List<Row> rows) throws SQLException {
+        // JPA auditing(@CreatedDate) 을 거치지 않으므로 직접 채운다.
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            for (Row row : rows) {
+                statement.setString(1, row.request.getEmail());
+                statement.setString(2, row.encodedPassword);
+                statement.setString(3, row.request.getNickname());
+                statement.setString(4, row.role.name());
+                statement.setTimestamp(5, now);
+                statement.setTimestamp(6, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            List<Long> ids = new ArrayList<>(rows.size());
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getLong(1));
+                }
+            }
+            if (ids.size() != rows.size()) {
+                throw new IllegalStateException("생성된 id 수가 insert 한 row 수와 다릅니다. rows: " + rows.size() + ", ids: " + ids.size());
+            }
+            return ids;
+        }
+    }
+
+    private void write(JsonGenerator generator, List<UserImportResultResponse> results) throws IOException {
+        for (UserImportResultResponse result : results) {
+            resultWriter.writeValue(generator, result);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private JsonGenerator newLineDelimitedGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = resultWriter.createGenerator(outputStream);
+        // 기본 구분자(공백) 대신 줄마다 직접 개행을 쓴다.
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    // 필요한 열이 하나라도 없으면 null. 열 이름은 대소문자를 가리지 않는다.
+    static Map<String, Integer> parseCsvHeader(String header) {
+        if (header == null) {
+            return null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        // 엑셀에서 저장한 UTF-8 CSV 는 앞에 BOM 이 붙는다.
+        List<String> names = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns.keySet().containsAll(CSV_COLUMNS) ? columns : null;
+    }
+
+    // RFC 4180 의 한 줄. 큰따옴표로 감싼 값 안의 쉼표와 "" (큰따옴표 하나) 를 처리한다.
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static final class Row {
+
+        private final long line;
+        private final SignupRequest request;
+        private UserRole role;
+        private ForkJoinTask<String> hashing;
+        private String encodedPassword;
+        private UserImportResultResponse result;
+
+        private Row(long line, SignupRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+
+        private static Row invalid(long line, String email, String message) {
+            Row row = new Row(line, null);
+            row.result = UserImportResultResponse.invalid(line, email, message);
+            return row;
+        }
+
+        private String normalizedEmail() {
+            return request.getEmail().trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class Batch {
+
+        private final List<Row> rows;
+        private final List<Row> accepted = new ArrayList<>();
+        private final Set<String> acceptedEmails = new HashSet<>();
+
+        private Batch(List<Row> rows) {
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.expert.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+외부 API 대신 로컬 stub 서버를 띄워서 upstream 호출 횟수를 센다.
+ */
+class WeatherClientTest {
+
+    private static final String WEATHER_JSON = """
+            [
+              {"date": "03-01", "weather": "Sunny"},
+              {"date": "03-02", "weather": "Rainy"}
+            ]
+            """;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private MutableClock clock;
+    private WeatherClient weatherClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/f-api/weather.json", exchange -> {
+            upstreamCalls.incrementAndGet();
+            byte[] body = WEATHER_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        clock = new MutableClock(LocalDateTime.of(2025, 3, 1, 9, 0));
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        weatherClient = new WeatherClient(new RestTemplateBuilder(), baseUrl, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("동시에 여러 todo 가 저장되어도 하루에 upstream 요청은 한 번만 나간다.")
+    void 동시_요청_single_flight() throws Exception {
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return weatherClient.getTodayWeather();
+            }));
+        }
+        start.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("Sunny");
+        }
+        executor.shutdown();
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("날짜가 바뀌면 스냅샷을 한 번 다시 받는다.")
+    void 날짜_변경시_재조회() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(weatherClient.getTodayWeather()).isEqualTo("Sunny");
+        }
+
+        clock.set(LocalDateTime.of(2025, 3, 2, 0, 0, 1));
+        for (int i = 0; i < 100; i++) {
+            assertThat(weatherClient.getTodayWeather()).isEqualTo("Rainy");
+        }
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("자정 전에 미리 갱신해두면 자정 이후 첫 요청은 upstream 을 호출하지 않는다.")
+    void 자정_전_사전_갱신() {
+        clock.set(LocalDateTime.of(2025, 3, 1, 23, 50));
+        weatherClient.refreshBeforeMidnight();
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+
+        assertThat(weatherClient.getTodayWeather()).isEqualTo("Sunny");
+        clock.set(LocalDateTime.of(2025, 3, 2, 0, 0, 1));
+        assertThat(weatherClient.getTodayWeather()).isEqualTo("Rainy");
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(LocalDateTime dateTime) {
+            set(dateTime);
+        }
+
+        void set(LocalDateTime dateTime) {
+            this.instant = dateTime.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.expert.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.domain.common.exception.ServerException;
+import org.example.expert.domain.user.enums.UserRole;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtClaimsCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    @DisplayName("만료 시각이 지나면 캐시에서 빼고 돌려주지 않는다. (다시 파싱해서 만료 예외가 나도록)")
+    void 만료된_토큰은_캐시에서_빼기() {
+        JwtClaimsCache cache = new JwtClaimsCache(meterRegistry, true, 10, clock);
+        cache.put("token", claimsExpiringAt(NOW.plusSeconds(60)));
+
+        clock.plusSeconds(59);
+        assertThat(cache.get("token")).isNotNull();
+
+        clock.plusSeconds(1);
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("max-size 를 넘으면 가장 오래 안 쓴 토큰 하나만 버리고 새 토큰은 캐시한다.")
+    void 크기_제한() {
+        JwtClaimsCache cache = new JwtClaimsCache(meterRegistry, true, 3, clock);
+        for (int i = 1; i <= 3; i++) {
+            cache.put("token" + i, claimsExpiringAt(NOW.plusSeconds(60)));
+        }
+        // token1 을 최근에 썼으므로 token2, token3 순서로 버려진다.
+        assertThat(cache.get("token1")).isNotNull();
+
+        cache.put("token4", claimsExpiringAt(NOW.plusSeconds(60)));
+        cache.put("token5", claimsExpiringAt(NOW.plusSeconds(60)));
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("token2")).isNull();
+        assertThat(cache.get("token3")).isNull();
+        assertThat(cache.get("token1")).isNotNull();
+        assertThat(cache.get("token5")).isNotNull();
+        assertThat(meterRegistry.get("jwt.claims.cache.evictions").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("정상 토큰을 캐시한 뒤에도, 서명을 바꾼 토큰은 캐시에서 나오지 않고 검증에서 실패한다.")
+    void 변조된_토큰은_캐시에서_나오지_않음() {
+        JwtClaimsCache cache = new JwtClaimsCache(meterRegistry, true, 10, Clock.systemUTC());
+        JwtUtil jwtUtil = new JwtUtil(cache);
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "dGVzdC1vbmx5LWp3dC1zZWNyZXQta2V5LTAxMjM0NTY3ODlhYmNkZWY=");
+        jwtUtil.init();
+
+        String token = jwtUtil.substringToken(jwtUtil.createToken(1L, "user@test.com", "user", UserRole.USER));
+        assertThat(jwtUtil.extractClaims(token).getSubject()).isEqualTo("1");
+        assertThat(cache.size()).isEqualTo(1);
+
+        // 서명 첫 글자를 바꾼다. (마지막 글자는 패딩 비트만 바뀔 수 있다)
+        int signature = token.lastIndexOf('.') + 1;
+        char replaced = token.charAt(signature) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signature) + replaced + token.substring(signature + 1);
+
+        assertThat(cache.get(tampered)).isNull();
+        assertThatThrownBy(() -> jwtUtil.extractClaims(tampered)).isInstanceOf(ServerException.class);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private static Claims claimsExpiringAt(Instant expiration) {
+        return Jwts.claims().setSubject("1").setExpiration(Date.from(expiration));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void plusSeconds(long seconds) {
+            this.instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.expert.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncoderTest {
+
+    private final PasswordHashExecutor hashExecutor = new PasswordHashExecutor(new SimpleMeterRegistry(), 1, 4);
+
+    @AfterEach
+    void tearDown() {
+        hashExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("cost 는 해시 문자열에 들어 있어서, 다른 cost 로 만든 해시도 검증되고 더 낮은 cost 의 해시만 재해시 대상이 된다.")
+    void cost_가_다른_해시() {
+        PasswordEncoder low = new PasswordEncoder(hashExecutor, 4, 0);
+        PasswordEncoder high = new PasswordEncoder(hashExecutor, 5, 0);
+        String lowHash = low.encode("Password1234");
+
+        assertThat(PasswordEncoder.costOf(lowHash)).isEqualTo(4);
+        assertThat(high.matches("Password1234", lowHash)).isTrue();
+        assertThat(high.needsRehash(lowHash)).isTrue();
+        assertThat(low.needsRehash(lowHash)).isFalse();
+        assertThat(low.needsRehash(high.encode("Password1234"))).isFalse();
+        assertThat(high.needsRehash("plain-text")).isFalse();
+    }
+
+    @Test
+    @DisplayName("cost 를 정하지 않으면 예산 안에 드는 cost 를 고른다. 예산이 0 이면 최소 cost")
+    void cost_측정() {
+        assertThat(new PasswordEncoder(hashExecutor, 0, 0).getCost()).isEqualTo(4);
+        assertThat(new PasswordEncoder(hashExecutor, 0, 50).getCost()).isBetween(4, 16);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.expert.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.domain.common.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashExecutor executor = new PasswordHashExecutor(meterRegistry, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("스레드와 큐가 모두 차 있으면 기다리지 않고 거절한다.")
+    void 포화시_거절() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        started.await();
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+        assertThat(meterRegistry.get("password.hash.queue.depth").gauge().value()).isEqualTo(1);
+        assertThatThrownBy(() -> executor.submit(() -> "rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isEqualTo("running");
+        assertThat(queued.join()).isEqualTo("queued");
+        assertThat(meterRegistry.get("password.hash").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("여러 비밀번호를 같은 해시에 대해 순서대로 검증한다.")
+    void matchesEach() {
+        PasswordEncoder passwordEncoder = new PasswordEncoder(new PasswordHashExecutor(meterRegistry, 2, 4), 4, 0);
+        String encoded = passwordEncoder.encode("Password1234");
+
+        assertThat(passwordEncoder.matchesEach(encoded, "Wrong1234", "Password1234")).containsExactly(false, true);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.expert.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.user.enums.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+H2 메모리 DB 를 primary / replica 로 따로 띄우고, 각 DB 의 node 테이블에 자기 이름을 넣어서 어디로 갔는지 확인한다.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        routing.close();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica 로, 쓰기 트랜잭션은 primary 로 간다.")
+    void readOnly_replica_쓰기_primary() {
+        setUp(1, ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-0");
+        assertThat(readWrite.execute(status -> currentNode())).isEqualTo("primary");
+        assertThat(counter("replica-0", "read")).isEqualTo(1);
+        assertThat(counter("primary", "write")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("replica 가 여러 개면 round-robin 으로 돌아가며 보낸다.")
+    void round_robin() {
+        setUp(2, ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(readOnly.execute(status -> currentNode()));
+        }
+
+        assertThat(nodes).containsExactly("replica-0", "replica-1", "replica-0", "replica-1");
+    }
+
+    @Test
+    @DisplayName("least-connections 는 사용 중인 커넥션이 적은 replica 를 고른다.")
+    void least_connections() {
+        setUp(2, ReplicaRoutingDataSource.Selection.LEAST_CONNECTIONS);
+
+        // replica-0 커넥션을 잡아둔 채로 다른 읽기를 보낸다.
+        String nested = readOnly.execute(outer -> {
+            String first = currentNode();
+            String second = newReadOnly().execute(inner -> currentNode());
+            return first + "," + second;
+        });
+
+        assertThat(nested.split(",")).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("유저가 쓴 직후 window 동안은 그 유저의 읽기만 primary 로 가고, 지나면 다시 replica 로 간다.")
+    void read_your_writes() {
+        setUp(1, ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        login(1L);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("primary");
+
+        login(2L);
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-0");
+
+        login(1L);
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-0");
+        assertThat(counter("primary", "read-your-writes")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("롤백된 쓰기는 read-your-writes 구간을 만들지 않는다.")
+    void 롤백은_기록하지_않음() {
+        setUp(1, ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        login(1L);
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-0");
+    }
+
+    private void setUp(int replicaCount, ReplicaRoutingDataSource.Selection selection) {
+        String prefix = "routing-" + System.nanoTime() + "-";
+        DataSource primary = node(prefix, "primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaCount; i++) {
+            replicas.add(node(prefix, "replica-" + i));
+        }
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(2_000, clock);
+        routing = new ReplicaRoutingDataSource(primary, replicas, selection, tracker, meterRegistry);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    // 이미 트랜잭션이 있어도 새 커넥션을 받는 readOnly 트랜잭션
+    private TransactionTemplate newReadOnly() {
+        TransactionTemplate template = new TransactionTemplate(readOnly.getTransactionManager());
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private HikariDataSource node(String prefix, String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + prefix + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPoolName(name);
+        pools.add(dataSource);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private double counter(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static void login(Long userId) {
+        AuthUser authUser = new AuthUser(userId, "user" + userId + "@test.com", "user" + userId, UserRole.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(authUser, null, List.of()));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.expert.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+open-in-view 처럼 요청 동안 EntityManager 를 열어둔 채로 JpaTransactionManager 트랜잭션을 여러 번 실행한다.
+primary 와 replica 가 같은 H2 DB 를 가리키므로, 어디로 갔는지는 datasource.routing 카운터로 확인한다.
+(커넥션을 들고 있으면 다음 트랜잭션은 라우팅을 거치지 않는다)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:osiv;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.enabled=true",
+        "datasource.replica.urls=jdbc:h2:mem:osiv;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+class ReplicaRoutingOpenInViewTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // OpenEntityManagerInViewInterceptor 가 요청 시작 때 하는 일
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        holder.getEntityManager().close();
+    }
+
+    @Test
+    @DisplayName("한 요청 안에서도 트랜잭션마다 커넥션을 다시 받아 쓰기는 primary, readOnly 는 replica 로 간다.")
+    void open_in_view_트랜잭션마다_라우팅() {
+        double writes = counter("primary", "write");
+        double reads = counter("replica-0", "read");
+
+        readWrite.executeWithoutResult(status -> query());
+        readOnly.executeWithoutResult(status -> query());
+        readWrite.executeWithoutResult(status -> query());
+
+        assertThat(counter("primary", "write") - writes).isEqualTo(2);
+        assertThat(counter("replica-0", "read") - reads).isEqualTo(1);
+    }
+
+    private void query() {
+        entityManager.createNativeQuery("SELECT 1").getSingleResult();
+    }
+
+    private double counter(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
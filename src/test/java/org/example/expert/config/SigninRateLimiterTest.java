@@ -0,0 +1,171 @@
+package org.example.expert.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.domain.common.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigninRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("이메일별 실패 횟수가 한도가 되면 429 로 거절하고, 대소문자만 다른 이메일도 같은 키로 센다.")
+    void 이메일_한도() {
+        SigninRateLimiter limiter = new SigninRateLimiter(meterRegistry, true, 3, 1000, 60_000, 4, 1024);
+        for (int i = 0; i < 3; i++) {
+            limiter.check("user@test.com", "10.0.0." + i, 0);
+            limiter.recordFailure("user@test.com", 0);
+        }
+
+        assertThatThrownBy(() -> limiter.check(" USER@test.com", "10.0.0.9", 0))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(60L);
+        limiter.check("other@test.com", "10.0.0.9", 0);
+        assertThat(meterRegistry.get("auth.signin.throttled").tag("key", "email").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("성공한 로그인은 이메일 한도에 세지 않는다.")
+    void 성공은_세지_않음() {
+        SigninRateLimiter limiter = new SigninRateLimiter(meterRegistry, true, 3, 1000, 60_000, 4, 1024);
+        for (int i = 0; i < 10; i++) {
+            limiter.check("user@test.com", "10.0.0.1", 0);
+        }
+        limiter.recordFailure("user@test.com", 0);
+
+        limiter.check("user@test.com", "10.0.0.1", 0);
+    }
+
+    @Test
+    @DisplayName("IP 별 한도를 넘으면 이메일이 달라도 거절한다.")
+    void IP_한도() {
+        SigninRateLimiter limiter = new SigninRateLimiter(meterRegistry, true, 1000, 3, 60_000, 4, 1024);
+        for (int i = 0; i < 3; i++) {
+            limiter.check("user" + i + "@test.com", "10.0.0.1", 0);
+        }
+
+        assertThatThrownBy(() -> limiter.check("user9@test.com", "10.0.0.1", 0))
+                .isInstanceOf(TooManyRequestsException.class);
+        limiter.check("user9@test.com", "10.0.0.2", 0);
+        assertThat(meterRegistry.get("auth.signin.throttled").tag("key", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("직전 윈도우 수는 남은 비율만큼만 더하고, 두 윈도우가 지나면 잊는다. 거절된 요청은 세지 않는다.")
+    void 슬라이딩_윈도우() {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(4, 1024, 1000);
+        for (int i = 0; i < 10; i++) {
+            assertThat(sketch.tryAcquire("key", 10, i)).isTrue();
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(sketch.tryAcquire("key", 10, 500)).isFalse();
+        }
+        assertThat(sketch.estimate("key", 500)).isEqualTo(10.0);
+
+        // 새 윈도우 시작: 1 + 10 x 1.0
+        assertThat(sketch.tryAcquire("key", 10, 1000)).isFalse();
+        // 90% 지남: 1 + 10 x 0.1
+        assertThat(sketch.tryAcquire("key", 10, 1900)).isTrue();
+        // 직전 윈도우(2초대)가 비어 있다.
+        assertThat(sketch.tryAcquire("key", 10, 3500)).isTrue();
+    }
+
+    @Test
+    @DisplayName("한 키로 동시에 몰려도 한도보다 많이 통과시키지 않는다.")
+    void 동시_요청_한도() throws Exception {
+        SlidingWindowSketch sketch = new SlidingWindowSketch(4, 1024, 60_000);
+        AtomicLong allowed = new AtomicLong();
+
+        runConcurrently(8, thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                if (sketch.tryAcquire("hot@test.com", 100, 0)) {
+                    allowed.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+
+    /*
+    한 윈도우 안에 서로 다른 이메일 200만 개가 한 번씩 들어오고, 그 사이에 공격 키 1000개가 50번씩 두드린다.
+    기본 크기(depth 4, width 2^18, 8MB) 에서 칸 하나에 평균 7.6개 키가 겹친다.
+    포아송 근사로 한 행에서 한도(10)를 넘길 확률은 0.24, 네 행 모두 넘길 확률은 약 0.3% 이다. (행끼리 독립이라 보고 잡은 위쪽 값)
+    공격 키는 과소 추정이 없으므로 한도를 넘은 시도가 하나도 통과하지 않아야 한다.
+     */
+    @Test
+    @DisplayName("서로 다른 키 200만 개에서도 정상 키의 오탐은 1% 미만이고 공격 키는 모두 막는다.")
+    void 많은_키_동시_스트레스() throws Exception {
+        int threads = 8;
+        int keysPerThread = 250_000;
+        int attackers = 1000;
+        int attempts = 50;
+        int limit = 10;
+        SlidingWindowSketch sketch = new SlidingWindowSketch(4, 1 << 18, 60_000);
+        AtomicLong falseRejected = new AtomicLong();
+        AtomicIntegerArray attackerAllowed = new AtomicIntegerArray(attackers);
+        int every = keysPerThread * threads / (attackers * attempts);
+
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < keysPerThread; i++) {
+                if (!sketch.tryAcquire("user" + thread + "-" + i + "@test.com", limit, 0)) {
+                    falseRejected.incrementAndGet();
+                }
+                // 공격 키 시도를 스레드들에 고르게 섞는다. 공격 키마다 모두 합쳐 attempts 번
+                if (i % every == 0) {
+                    int attacker = (thread * keysPerThread / every + i / every) % attackers;
+                    if (sketch.tryAcquire("attacker" + attacker + "@test.com", limit, 0)) {
+                        attackerAllowed.incrementAndGet(attacker);
+                    }
+                }
+            }
+        });
+
+        double falseRate = (double) falseRejected.get() / (threads * keysPerThread);
+        assertThat(falseRate).as("정상 키 오탐 비율 %.4f%%", falseRate * 100).isLessThan(0.01);
+        for (int attacker = 0; attacker < attackers; attacker++) {
+            assertThat(attackerAllowed.get(attacker)).isLessThanOrEqualTo(limit);
+        }
+        assertThat(sketch.getMemoryBytes()).isEqualTo(8L << 20);
+    }
+
+    private static void runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int id = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(id);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
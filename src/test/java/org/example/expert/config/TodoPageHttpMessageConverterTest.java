@@ -0,0 +1,71 @@
+package org.example.expert.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.user.dto.response.UserResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스프링 부트가 설정한 ObjectMapper 로 VIA_DTO(PagedModel) 결과와 바이트 단위로 비교한다.
+@JsonTest
+class TodoPageHttpMessageConverterTest {
+
+    private static final Type TODO_PAGE = new ParameterizedTypeReference<Page<TodoResponse>>() {
+    }.getType();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("VIA_DTO 와 같은 JSON 을 쓴다. (null 필드, 초가 0 인 시각, 나노초 포함)")
+    void VIA_DTO_와_같은_JSON() throws Exception {
+        List<TodoResponse> content = List.of(
+                new TodoResponse(1L, "title", "contents \"quoted\"", "Sunny", new UserResponse(10L, "a@test.com"),
+                        LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 12, 30, 15, 123_000_000)),
+                new TodoResponse(2L, "제목", null, null, new UserResponse(10L, "a@test.com"),
+                        LocalDateTime.of(2025, 1, 2, 3, 4, 5, 6), null)
+        );
+        assertSameAsPagedModel(new PageImpl<>(content, PageRequest.of(2, 2), 25));
+        assertSameAsPagedModel(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+        assertSameAsPagedModel(new PageImpl<>(content, Pageable.unpaged(), content.size()));
+    }
+
+    @Test
+    @DisplayName("Page<TodoResponse> 만 쓰고, 다른 타입은 기본 converter 로 넘긴다.")
+    void 대상_타입() {
+        TodoPageHttpMessageConverter converter = new TodoPageHttpMessageConverter(objectMapper);
+        Type userPage = new ParameterizedTypeReference<Page<UserResponse>>() {
+        }.getType();
+
+        assertThat(converter.canWrite(TODO_PAGE, PageImpl.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(userPage, PageImpl.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(Page.class, PageImpl.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(TODO_PAGE, PageImpl.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canRead(TODO_PAGE, null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private void assertSameAsPagedModel(Page<TodoResponse> page) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        new TodoPageHttpMessageConverter(objectMapper).write(page, TODO_PAGE, MediaType.APPLICATION_JSON, outputMessage);
+
+        String expected = objectMapper.writeValueAsString(new PagedModel<>(page));
+        assertThat(outputMessage.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+}
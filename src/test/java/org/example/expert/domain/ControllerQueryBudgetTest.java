@@ -0,0 +1,365 @@
+package org.example.expert.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.expert.client.WeatherClient;
+import org.example.expert.config.PasswordEncoder;
+import org.example.expert.domain.auth.dto.request.SigninRequest;
+import org.example.expert.domain.auth.dto.request.SignupRequest;
+import org.example.expert.domain.comment.dto.request.CommentSaveRequest;
+import org.example.expert.domain.comment.entity.Comment;
+import org.example.expert.domain.comment.repository.CommentRepository;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.manager.dto.request.ManagerSaveRequest;
+import org.example.expert.domain.manager.entity.Manager;
+import org.example.expert.domain.manager.repository.ManagerRepository;
+import org.example.expert.domain.todo.dto.request.TodoBulkSaveRequest;
+import org.example.expert.domain.todo.dto.request.TodoSaveRequest;
+import org.example.expert.domain.todo.entity.Todo;
+import org.example.expert.domain.todo.entity.TodoCount;
+import org.example.expert.domain.todo.repository.TodoCountRepository;
+import org.example.expert.domain.todo.repository.TodoRepository;
+import org.example.expert.domain.user.dto.request.UserChangePasswordRequest;
+import org.example.expert.domain.user.dto.request.UserRoleChangeRequest;
+import org.example.expert.domain.user.entity.User;
+import org.example.expert.domain.user.enums.UserRole;
+import org.example.expert.domain.user.repository.UserRepository;
+import org.example.expert.support.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+컨트롤러 엔드포인트별 SQL 실행 횟수 예산 (H2).
+예산을 넘기면 실행된 SQL 목록과 함께 실패하므로 N+1 이 새로 생기면 여기서 잡힌다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ControllerQueryBudgetTest {
+
+    private static final String RAW_PASSWORD = "Password1234";
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoCountRepository todoCountRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private WeatherClient weatherClient;
+
+    private User owner;
+    private User other;
+    private Todo todo;
+
+    @BeforeEach
+    void setUp() {
+        when(weatherClient.getTodayWeather()).thenReturn("Sunny");
+
+        String encoded = passwordEncoder.encode(RAW_PASSWORD);
+        owner = userRepository.save(new User("owner@test.com", encoded, "owner", UserRole.ADMIN));
+        other = userRepository.save(new User("other@test.com", encoded, "other", UserRole.USER));
+
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE * 2; i++) {
+            todos.add(new Todo("title" + i, "contents" + i, i % 2 == 0 ? "Sunny" : "Rainy", owner));
+        }
+        todoRepository.saveAll(todos);
+        todoCountRepository.save(new TodoCount(owner.getId(), todos.size()));
+        todo = todos.get(0);
+
+        commentRepository.save(new Comment("comment", other, todo));
+        commentRepository.save(new Comment("comment", owner, todo));
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAllInBatch();
+        managerRepository.deleteAllInBatch();
+        todoRepository.deleteAllInBatch();
+        todoCountRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    // TodoController
+
+    @Test
+    @DisplayName("POST /todos 는 todo 와 담당자 insert + 카운터 update (+ 시퀀스 블록 경계에서 시퀀스 조회 2회)")
+    void saveTodo() throws Exception {
+        QueryBudget.assertAtMost(5, () -> mockMvc.perform(post("/todos")
+                        .with(login(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoSaveRequest("title", "contents"))))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("POST /todos/bulk 100건은 row 수가 아니라 batch 수만큼만 SQL 을 실행한다.")
+    void saveTodos() throws Exception {
+        List<TodoSaveRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            requests.add(new TodoSaveRequest("bulk" + i, "contents" + i));
+        }
+
+        // 시퀀스 조회 (테이블당 최대 3) + insert batch (테이블당 2) + 카운터 update
+        QueryBudget.assertAtMost(11, () -> mockMvc.perform(post("/todos/bulk")
+                        .with(login(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoBulkSaveRequest(requests))))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /todos?size=50 은 목록 + 카운터 조회 2개 쿼리 이하")
+    void getTodos() throws Exception {
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/todos")
+                        .with(login(owner))
+                        .param("page", "2")
+                        .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /todos?cursor= 는 count 없이 1개 쿼리")
+    void getTodosByCursor() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/todos")
+                        .with(login(owner))
+                        .param("cursor", "")
+                        .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /todos/{todoId} 는 검증자 조회 + user fetch join, 바뀌지 않았으면 검증자 조회 1개 쿼리로 304")
+    void getTodo() throws Exception {
+        String etag = QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/todos/{todoId}", todo.getId())
+                        .with(login(owner)))
+                .andExpect(status().isOk()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/todos/{todoId}", todo.getId())
+                        .with(login(owner))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string("")));
+    }
+
+    @Test
+    @DisplayName("GET /todos/search?size=50 은 목록 + count 2개 쿼리 이하")
+    void searchTodos() throws Exception {
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/todos/search")
+                        .with(login(owner))
+                        .param("weather", "Sunny")
+                        .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /todos/search?slice=true 는 count 없이 1개 쿼리")
+    void searchTodosSlice() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/todos/search")
+                        .with(login(owner))
+                        .param("weather", "Sunny")
+                        .param("slice", "true")
+                        .param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk()));
+    }
+
+    // CommentController
+
+    @Test
+    @DisplayName("POST /todos/{todoId}/comments 는 todo 조회 + insert")
+    void saveComment() throws Exception {
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(post("/todos/{todoId}/comments", todo.getId())
+                        .with(login(other))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CommentSaveRequest("contents"))))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /todos/{todoId}/comments 는 max(modified_at) 집계 + 작성자 fetch join, 바뀌지 않았으면 집계 1개 쿼리로 304")
+    void getComments() throws Exception {
+        String etag = QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/todos/{todoId}/comments", todo.getId())
+                        .with(login(owner)))
+                .andExpect(status().isOk()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/todos/{todoId}/comments", todo.getId())
+                        .with(login(owner))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+
+        // 댓글이 추가되면 같은 ETag 로도 200
+        commentRepository.save(new Comment("new comment", other, todo));
+        mockMvc.perform(get("/todos/{todoId}/comments", todo.getId())
+                        .with(login(owner))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    // ManagerController
+
+    @Test
+    @DisplayName("POST /todos/{todoId}/managers 는 todo 조회 + 담당자 유저 조회 + insert + 담당자 버전 update (+ 시퀀스 조회)")
+    void saveManager() throws Exception {
+        QueryBudget.assertAtMost(5, () -> mockMvc.perform(post("/todos/{todoId}/managers", todo.getId())
+                        .with(login(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ManagerSaveRequest(other.getId()))))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /todos/{todoId}/managers 는 담당자 버전 + todo 조회 + 담당자 fetch join, 바뀌지 않았으면 버전 조회 1개 쿼리로 304")
+    void getManagers() throws Exception {
+        String etag = QueryBudget.assertAtMost(3, () -> mockMvc.perform(get("/todos/{todoId}/managers", todo.getId())
+                        .with(login(owner)))
+                .andExpect(status().isOk()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/todos/{todoId}/managers", todo.getId())
+                        .with(login(owner))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    @DisplayName("DELETE /todos/{todoId}/managers/{managerId} 는 todo 조회 + 담당자 조회 + delete + 담당자 버전 update")
+    void deleteManager() throws Exception {
+        Manager manager = managerRepository.save(new Manager(other, todo));
+
+        QueryBudget.assertAtMost(4, () -> mockMvc.perform(delete("/todos/{todoId}/managers/{managerId}", todo.getId(), manager.getId())
+                        .with(login(owner)))
+                .andExpect(status().isOk()));
+    }
+
+    // UserController, UserAdminController
+
+    @Test
+    @DisplayName("GET /users/{userId} 는 1개 쿼리")
+    void getUser() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/users/{userId}", other.getId())
+                        .with(login(owner)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("PUT /users 는 유저 조회 + update")
+    void changePassword() throws Exception {
+        UserChangePasswordRequest request = new UserChangePasswordRequest(RAW_PASSWORD, "NewPassword1234");
+
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(put("/users")
+                        .with(login(other))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("PATCH /admin/users/{userId} 는 유저 조회 + update")
+    void changeUserRole() throws Exception {
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(patch("/admin/users/{userId}", other.getId())
+                        .with(login(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRoleChangeRequest("ADMIN"))))
+                .andExpect(status().isOk()));
+    }
+
+    // AuthController
+
+    @Test
+    @DisplayName("POST /auth/signup 은 Bloom filter 에 없는 이메일이면 insert 1개 쿼리")
+    void signup() throws Exception {
+        SignupRequest request = new SignupRequest("new@test.com", RAW_PASSWORD, "newbie", "USER");
+
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("POST /auth/signup 중복 이메일은 필터에 없어도 unique 제약으로 400")
+    void signup_중복_이메일() throws Exception {
+        // other 는 repository 로 직접 넣어서 Bloom filter 에 없다.
+        SignupRequest request = new SignupRequest(other.getEmail(), RAW_PASSWORD, "dup", "USER");
+
+        mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /auth/signin 은 이메일로 유저 조회 1개 쿼리")
+    void signin() throws Exception {
+        SigninRequest request = new SigninRequest(other.getEmail(), RAW_PASSWORD, "other");
+
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(post("/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("POST /auth/signin 시도 제한에 걸리면 쿼리 없이 429")
+    void signin_시도_제한() throws Exception {
+        SigninRequest request = new SigninRequest("throttled@test.com", "Wrong1234", "other");
+        String content = objectMapper.writeValueAsString(request);
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/auth/signin").contentType(MediaType.APPLICATION_JSON).content(content));
+        }
+
+        QueryBudget.assertAtMost(0, () -> mockMvc.perform(post("/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER)));
+    }
+
+    private RequestPostProcessor login(User user) {
+        AuthUser authUser = new AuthUser(user.getId(), user.getEmail(), user.getNickname(), user.getUserRole());
+        return authentication(new UsernamePasswordAuthenticationToken(
+                authUser, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getUserRole().name()))));
+    }
+}
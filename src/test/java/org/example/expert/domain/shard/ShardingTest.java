@@ -0,0 +1,215 @@
+package org.example.expert.domain.shard;
+
+import org.example.expert.client.WeatherClient;
+import org.example.expert.config.ShardContext;
+import org.example.expert.config.ShardDataSources;
+import org.example.expert.config.ShardKeys;
+import org.example.expert.domain.auth.dto.request.SignupRequest;
+import org.example.expert.domain.auth.service.AuthService;
+import org.example.expert.domain.comment.dto.request.CommentSaveRequest;
+import org.example.expert.domain.comment.service.CommentService;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.shard.dto.response.ShardMoveResponse;
+import org.example.expert.domain.shard.service.ShardDirectory;
+import org.example.expert.domain.shard.service.ShardRebalancer;
+import org.example.expert.domain.shard.service.UserShardReplicator;
+import org.example.expert.domain.todo.dto.request.TodoSaveRequest;
+import org.example.expert.domain.todo.service.TodoService;
+import org.example.expert.domain.user.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// H2 메모리 DB 3개를 shard 0, 1, 2 로 띄운다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.shard.enabled=true",
+        "datasource.shard.urls=jdbc:h2:mem:shard1;MODE=MySQL;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard2;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        // 복사 재시도는 테스트에서 직접 부른다.
+        "datasource.shard.replication-retry-interval=3600000"
+})
+@AutoConfigureMockMvc
+class ShardingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @MockitoSpyBean
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private UserShardReplicator userShardReplicator;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @MockitoBean
+    private WeatherClient weatherClient;
+
+    @BeforeEach
+    void setUp() {
+        when(weatherClient.getTodayWeather()).thenReturn("Sunny");
+    }
+
+    @Test
+    @DisplayName("todo 는 주인의 shard 에 저장되고, id 에 그 shard 가 들어간다. users 는 모든 shard 에 복제된다.")
+    void 유저_shard_에_저장() {
+        AuthUser owner = signup("owner");
+        AuthUser commenter = signup("commenter");
+        int ownerShard = shardDirectory.shardOfUser(owner.getId());
+
+        long todoId = saveTodo(owner);
+        ShardContext.runIn(shardDirectory.shardOfTodo(todoId),
+                () -> commentService.saveComment(commenter, todoId, new CommentSaveRequest("댓글")));
+
+        assertThat(ShardKeys.shardOf(todoId)).isEqualTo(ownerShard);
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            int expected = shard == ownerShard ? 1 : 0;
+            assertThat(count(shard, "SELECT COUNT(*) FROM todos WHERE id = ?", todoId)).isEqualTo(expected);
+            assertThat(count(shard, "SELECT COUNT(*) FROM comments WHERE todo_id = ?", todoId)).isEqualTo(expected);
+            assertThat(count(shard, "SELECT COUNT(*) FROM users WHERE id = ?", commenter.getId())).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("유저를 다른 shard 로 옮기면 todo id 는 그대로이고, todo id 로 들어온 요청도 옮긴 shard 로 간다.")
+    void rebalance() throws Exception {
+        AuthUser owner = signup("mover");
+        AuthUser commenter = signup("reader");
+        long todoId = saveTodo(owner);
+        ShardContext.runIn(shardDirectory.shardOfTodo(todoId),
+                () -> commentService.saveComment(commenter, todoId, new CommentSaveRequest("댓글")));
+
+        int source = shardDirectory.shardOfUser(owner.getId());
+        int target = (source + 1) % shardDataSources.size();
+        ShardMoveResponse response = shardRebalancer.moveUser(owner.getId(), target);
+
+        assertThat(response.getMovedTodos()).isEqualTo(1);
+        assertThat(shardDirectory.shardOfUser(owner.getId())).isEqualTo(target);
+        assertThat(shardDirectory.shardOfTodo(todoId)).isEqualTo(target);
+        assertThat(count(source, "SELECT COUNT(*) FROM todos WHERE user_id = ?", owner.getId())).isZero();
+        assertThat(count(target, "SELECT COUNT(*) FROM todos WHERE id = ?", todoId)).isEqualTo(1);
+        assertThat(count(target, "SELECT COUNT(*) FROM comments WHERE todo_id = ?", todoId)).isEqualTo(1);
+
+        mockMvc.perform(get("/todos/{todoId}", todoId).with(authentication(token(owner))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(todoId));
+        mockMvc.perform(get("/todos").with(authentication(token(owner))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(todoId));
+    }
+
+    @Test
+    @DisplayName("옮기기 전에 들어와 있던 댓글 쓰기는 끝날 때까지 기다렸다가 함께 옮기고, 옮기는 중에 들어온 댓글 쓰기는 503 이다.")
+    void 옮기는_중_댓글() throws Exception {
+        AuthUser owner = signup("busy");
+        AuthUser commenter = signup("writer");
+        long todoId = saveTodo(owner);
+        int source = shardDirectory.shardOfUser(owner.getId());
+        int target = (source + 1) % shardDataSources.size();
+
+        // ShardFilter 를 이미 지나 source shard 에서 댓글을 쓰고 있는 요청
+        assertThat(shardDirectory.enterTodo(todoId)).isTrue();
+        CompletableFuture<ShardMoveResponse> move = CompletableFuture.supplyAsync(() -> shardRebalancer.moveUser(owner.getId(), target));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!shardDirectory.isTodoMoving(todoId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(post("/todos/{todoId}/comments", todoId).with(authentication(token(commenter)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"contents\":\"옮기는 중\"}"))
+                .andExpect(status().isServiceUnavailable());
+
+        ShardContext.runIn(source, () -> commentService.saveComment(commenter, todoId, new CommentSaveRequest("먼저 들어온 댓글")));
+        assertThat(move.isDone()).isFalse();
+        shardDirectory.exitTodo(todoId);
+
+        assertThat(move.get(10, TimeUnit.SECONDS).getMovedTodos()).isEqualTo(1);
+        assertThat(count(source, "SELECT COUNT(*) FROM comments WHERE todo_id = ?", todoId)).isZero();
+        assertThat(count(target, "SELECT COUNT(*) FROM comments WHERE todo_id = ?", todoId)).isEqualTo(1);
+        assertThat(shardDirectory.isTodoMoving(todoId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("가입 직후 shard 배정에 실패한 유저가 그동안 shard 0 에 만든 todo 는, 재시도 때 원래 shard 로 함께 옮겨져 계속 보인다.")
+    void 배정_실패_후_재시도() throws Exception {
+        doThrow(new TransientDataAccessResourceException("shard 연결 실패"))
+                .doCallRealMethod()
+                .when(shardDirectory).assignNewUsers(anyList());
+        AuthUser owner = signup("late");
+        assertThat(shardDirectory.shardOfUser(owner.getId())).isEqualTo(ShardContext.GLOBAL_SHARD);
+
+        long todoId = saveTodo(owner);
+        userShardReplicator.retryPending();
+
+        int home = shardDirectory.homeShardOf(owner.getId());
+        assertThat(shardDirectory.shardOfUser(owner.getId())).isEqualTo(home);
+        assertThat(shardDirectory.shardOfTodo(todoId)).isEqualTo(home);
+        assertThat(count(home, "SELECT COUNT(*) FROM todos WHERE id = ?", todoId)).isEqualTo(1);
+        mockMvc.perform(get("/todos").with(authentication(token(owner))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(todoId));
+    }
+
+    private AuthUser signup(String nickname) {
+        String email = nickname + "-" + UUID.randomUUID() + "@test.com";
+        authService.signup(new SignupRequest(email, "Password1234", nickname, UserRole.USER.name()));
+        Long userId = new JdbcTemplate(shardDataSources.get(ShardContext.GLOBAL_SHARD))
+                .queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        return new AuthUser(userId, email, nickname, UserRole.USER);
+    }
+
+    private long saveTodo(AuthUser owner) {
+        return ShardContext.callIn(shardDirectory.shardOfUser(owner.getId()),
+                () -> todoService.saveTodo(owner, new TodoSaveRequest("title", "contents")).getId());
+    }
+
+    private int count(int shard, String sql, Object... args) {
+        return new JdbcTemplate(shardDataSources.get(shard)).queryForObject(sql, Integer.class, args);
+    }
+
+    private static UsernamePasswordAuthenticationToken token(AuthUser authUser) {
+        return new UsernamePasswordAuthenticationToken(authUser, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + authUser.getUserRole().name())));
+    }
+}
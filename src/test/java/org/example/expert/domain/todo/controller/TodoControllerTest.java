@@ -1,9 +1,13 @@
 package org.example.expert.domain.todo.controller;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.expert.config.JwtUtil;
 import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.common.dto.ResourceVersion;
 import org.example.expert.domain.common.exception.InvalidRequestException;
 import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.todo.service.TodoResponseCache;
+import org.example.expert.domain.todo.service.TodoSearchCache;
 import org.example.expert.domain.todo.service.TodoService;
 import org.example.expert.domain.user.dto.response.UserResponse;
 import org.example.expert.domain.user.entity.User;
@@ -13,7 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -27,6 +33,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(TodoController.class)
+@Import({TodoResponseCache.class, TodoSearchCache.class, SimpleMeterRegistry.class})
+// 응답 캐시는 TodoResponseCacheTest / TodoSearchCacheTest 에서 따로 검증한다.
+@TestPropertySource(properties = {"todo.response-cache.enabled=false", "todo.search-cache.enabled=false"})
 class TodoControllerTest {
 
     @Autowired
@@ -97,6 +106,7 @@ class TodoControllerTest {
         // when
         String jwtToken = "Bearer MOCK_JWT_TOKEN";
         when(jwtUtil.createToken(userId, "email", "nickname", UserRole.USER)).thenReturn("MOCK_JWT_TOKEN");
+        when(todoService.getTodoVersion(userId, todoId)).thenReturn(ResourceVersion.of(null, "todo", todoId));
         when(todoService.getTodo(userId, todoId)).thenReturn(response);
 
 
@@ -118,7 +128,7 @@ class TodoControllerTest {
         // when
         String jwtToken = "Bearer MOCK_JWT_TOKEN";
         when(jwtUtil.createToken(userId, "email", "nickname", UserRole.USER)).thenReturn("MOCK_JWT_TOKEN");
-        when(todoService.getTodo(userId, todoId))
+        when(todoService.getTodoVersion(userId, todoId))
                 .thenThrow(new InvalidRequestException("일정을 찾을 수 없습니다."));
 
         // then
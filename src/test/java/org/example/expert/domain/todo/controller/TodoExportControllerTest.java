@@ -0,0 +1,147 @@
+package org.example.expert.domain.todo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.expert.domain.comment.entity.Comment;
+import org.example.expert.domain.comment.repository.CommentRepository;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.manager.repository.ManagerRepository;
+import org.example.expert.domain.todo.entity.Todo;
+import org.example.expert.domain.todo.repository.TodoRepository;
+import org.example.expert.domain.user.entity.User;
+import org.example.expert.domain.user.enums.UserRole;
+import org.example.expert.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// batch 경계(3건)를 넘는 todo 수로 NDJSON export 를 검증한다.
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "todo.export.batch-size=3")
+class TodoExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ManagerRepository managerRepository;
+
+    private User owner;
+    private List<Todo> todos;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("owner@test.com", "password", "owner", UserRole.USER));
+        User other = userRepository.save(new User("other@test.com", "password", "other", UserRole.USER));
+
+        todos = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            todos.add(new Todo("title" + i, "contents" + i, "Sunny", owner));
+        }
+        todos.add(new Todo("other", "다른 유저 todo", "Sunny", other));
+        todoRepository.saveAll(todos);
+
+        commentRepository.save(new Comment("comment", other, todos.get(4)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAllInBatch();
+        managerRepository.deleteAllInBatch();
+        todoRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("내 todo 만 id 순으로 한 줄에 하나씩 내려준다.")
+    void export_todo_만() throws Exception {
+        List<JsonNode> lines = export("");
+
+        assertThat(lines).hasSize(7);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(todos.get(0).getId());
+        assertThat(lines.get(6).get("title").asText()).isEqualTo("title6");
+        assertThat(lines.get(0).has("comments")).isFalse();
+        assertThat(lines.get(0).has("managers")).isFalse();
+    }
+
+    @Test
+    @DisplayName("include 로 요청하면 댓글과 담당자를 같이 내려준다.")
+    void export_댓글_담당자_포함() throws Exception {
+        List<JsonNode> lines = export("comments,managers");
+
+        assertThat(lines).hasSize(7);
+        assertThat(lines.get(4).get("comments")).hasSize(1);
+        assertThat(lines.get(4).get("comments").get(0).get("user").get("email").asText()).isEqualTo("other@test.com");
+        assertThat(lines.get(0).get("comments")).isEmpty();
+        assertThat(lines.get(0).get("managers").get(0).get("user").get("id").asLong()).isEqualTo(owner.getId());
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 include 는 스트리밍 전에 400")
+    void export_잘못된_include() throws Exception {
+        mockMvc.perform(get("/todos/export").with(login(owner)).param("include", "attachments"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<JsonNode> export(String include) throws Exception {
+        MvcResult started = mockMvc.perform(get("/todos/export").with(login(owner)).param("include", include))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TodoExportController.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private RequestPostProcessor login(User user) {
+        AuthUser authUser = new AuthUser(user.getId(), user.getEmail(), user.getNickname(), user.getUserRole());
+        return authentication(new UsernamePasswordAuthenticationToken(
+                authUser, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getUserRole().name()))));
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.expert.domain.todo.search;
+
+import org.example.expert.config.ShardTopology;
+import org.example.expert.domain.todo.entity.Todo;
+import org.example.expert.domain.todo.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TodoSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository = mock(TodoRepository.class);
+        when(todoRepository.findIndexRowsAfter(anyLong(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("모든 검색어를 포함한 todo 만 나오고, title 에 나온 단어가 더 높은 점수를 받는다.")
+    void 검색_랭킹() {
+        TodoSearchIndex index = newIndex("");
+        index.indexAfterCommit(1L, 10L, "장보기", "우유 계란 사기");
+        index.indexAfterCommit(2L, 10L, "우유 사기", "마트 가서 장보기");
+        index.indexAfterCommit(3L, 10L, "운동", "헬스장 가기");
+        index.indexAfterCommit(4L, 20L, "우유", "다른 유저의 todo");
+
+        assertThat(index.search(10L, "우유")).containsExactly(2L, 1L);
+        assertThat(index.search(10L, "우유 마트")).containsExactly(2L);
+        assertThat(index.search(10L, "없는단어")).isEmpty();
+        assertThat(index.search(30L, "우유")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재시작하면 segment 파일에서 색인을 복구한다.")
+    void segment_복구() throws Exception {
+        TodoSearchIndex index = newIndex(indexDir.toString());
+        index.load();
+        index.indexAfterCommit(1L, 10L, "Weekly Report", "draft the weekly report");
+        index.indexAfterCommit(2L, 10L, "Groceries", "milk, eggs");
+        index.close();
+
+        TodoSearchIndex reloaded = newIndex(indexDir.toString());
+        reloaded.load();
+
+        assertThat(reloaded.search(10L, "REPORT")).containsExactly(1L);
+        assertThat(reloaded.search(10L, "milk")).containsExactly(2L);
+        reloaded.close();
+    }
+
+    @Test
+    @DisplayName("segment 기록에 실패한 todo 는 다음 기록 때 먼저 쓰므로 재시작해도 빠지지 않는다.")
+    void segment_기록_실패_후_재기록() throws Exception {
+        Path dir = indexDir.resolve("index");
+        TodoSearchIndex index = newIndex(dir.toString());
+        index.load();
+
+        // 디렉터리 자리에 파일이 있으면 segment 를 만들지 못한다.
+        Files.delete(dir);
+        Files.createFile(dir);
+        index.indexAfterCommit(1L, 10L, "Weekly Report", "draft the weekly report");
+        assertThat(index.search(10L, "report")).containsExactly(1L);
+
+        Files.delete(dir);
+        index.indexAfterCommit(2L, 10L, "Groceries", "milk, eggs");
+        index.close();
+
+        TodoSearchIndex reloaded = newIndex(dir.toString());
+        reloaded.load();
+
+        assertThat(reloaded.search(10L, "report")).containsExactly(1L);
+        assertThat(reloaded.search(10L, "milk")).containsExactly(2L);
+        reloaded.close();
+    }
+
+    @Test
+    @DisplayName("여러 건을 한 번에 색인하면 한 번에 기록하고, 재시작해도 모두 복구된다.")
+    void 여러_건_한번에_색인() throws Exception {
+        TodoSearchIndex index = newIndex(indexDir.toString());
+        index.load();
+        index.indexAllAfterCommit(10L, List.of(todo(1L, "Weekly Report", "draft"), todo(2L, "Groceries", "milk")));
+        index.close();
+
+        TodoSearchIndex reloaded = newIndex(indexDir.toString());
+        reloaded.load();
+
+        assertThat(reloaded.search(10L, "report")).containsExactly(1L);
+        assertThat(reloaded.search(10L, "milk")).containsExactly(2L);
+        reloaded.close();
+    }
+
+    private static Todo todo(long id, String title, String contents) {
+        Todo todo = new Todo(title, contents, null, null);
+        ReflectionTestUtils.setField(todo, "id", id);
+        return todo;
+    }
+
+    private TodoSearchIndex newIndex(String dir) {
+        return new TodoSearchIndex(todoRepository, new ShardTopology(false, ""), dir, 1024);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.expert.domain.todo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.todo.dto.response.TodoResponse;
+import org.example.expert.domain.user.dto.response.UserResponse;
+import org.example.expert.domain.user.event.UserChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoResponseCacheTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final String VERSION = "\"v1\"";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("두 번째 조회부터는 조회 없이 같은 JSON 을 돌려주고, 작성자가 아니면 캐시에 있어도 거부한다.")
+    void 캐시_hit_와_작성자_확인() {
+        TodoResponseCache cache = newCache(1_000_000);
+
+        byte[] first = cache.get(OWNER_ID, 10L, VERSION, () -> load(10L, "title"));
+        byte[] second = cache.get(OWNER_ID, 10L, VERSION, () -> load(10L, "changed"));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(new String(second, StandardCharsets.UTF_8)).contains("\"title\":\"title\"");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThatThrownBy(() -> cache.get(2L, 10L, VERSION, () -> load(10L, "title")))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThat(meterRegistry.get("todo.response.cache.hit.ratio").gauge().value()).isGreaterThan(0.5);
+    }
+
+    @Test
+    @DisplayName("todo 를 지우거나 작성자 정보가 바뀌면 다시 조회한다.")
+    void 무효화() {
+        TodoResponseCache cache = newCache(1_000_000);
+        cache.get(OWNER_ID, 10L, VERSION, () -> load(10L, "a"));
+        cache.get(OWNER_ID, 11L, VERSION, () -> load(11L, "b"));
+
+        cache.invalidate(10L);
+        cache.get(OWNER_ID, 10L, VERSION, () -> load(10L, "a"));
+        assertThat(loads.get()).isEqualTo(3);
+
+        cache.onUserChanged(new UserChangedEvent(OWNER_ID, false));
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getUsedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("조회 도중 무효화되면 조회한 값은 캐시하지 않는다.")
+    void 조회중_무효화() {
+        TodoResponseCache cache = newCache(1_000_000);
+
+        cache.get(OWNER_ID, 10L, VERSION, () -> {
+            cache.invalidate(10L);
+            return load(10L, "stale");
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("캐시에 넣을 때와 검증자가 다르면 캐시된 본문을 쓰지 않고 다시 조회한다.")
+    void 검증자_불일치() {
+        TodoResponseCache cache = newCache(1_000_000);
+        cache.get(OWNER_ID, 10L, VERSION, () -> load(10L, "before"));
+
+        // 날씨 보강이 커밋됐지만 아직 캐시를 지우기 전
+        byte[] body = cache.get(OWNER_ID, 10L, "\"v2\"", () -> load(10L, "after"));
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).contains("\"title\":\"after\"");
+        assertThat(loads.get()).isEqualTo(2);
+        cache.get(OWNER_ID, 10L, "\"v2\"", () -> load(10L, "again"));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("전체 크기를 넘으면 가장 오래 안 쓴 항목부터 버린다.")
+    void 크기_제한() {
+        TodoResponseCache cache = newCache(1_000);
+        for (long todoId = 1; todoId <= 20; todoId++) {
+            long id = todoId;
+            cache.get(OWNER_ID, id, VERSION, () -> load(id, "title"));
+        }
+
+        assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(1_000);
+        assertThat(cache.size()).isBetween(1, 19);
+        assertThat(meterRegistry.get("todo.response.cache.evictions").counter().count()).isPositive();
+
+        // 가장 최근 항목은 남아 있다.
+        int before = loads.get();
+        cache.get(OWNER_ID, 20L, VERSION, () -> load(20L, "title"));
+        assertThat(loads.get()).isEqualTo(before);
+    }
+
+    private TodoResponseCache newCache(long maxBytes) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new TodoResponseCache(objectMapper, meterRegistry, true, maxBytes, 60_000);
+    }
+
+    private TodoResponse load(long todoId, String title) {
+        loads.incrementAndGet();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+        return new TodoResponse(todoId, title, "contents", "Sunny", new UserResponse(OWNER_ID, "owner@test.com"), now, now);
+    }
+}
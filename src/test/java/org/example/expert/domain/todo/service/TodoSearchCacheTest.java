@@ -0,0 +1,85 @@
+package org.example.expert.domain.todo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.domain.user.event.UserChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoSearchCacheTest {
+
+    private static final long USER_ID = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("검색어는 단어 순서/대소문자와 관계없이 같은 키가 되고, 조건이 다르면 따로 조회한다.")
+    void 검색_조건_정규화() {
+        TodoSearchCache cache = newCache(1_000_000);
+
+        byte[] first = cache.getPage(USER_ID, "Spring boot", "Sunny", START, null, 1, 10, () -> load("a"));
+        byte[] second = cache.getPage(USER_ID, "BOOT  spring", "Sunny", START, null, 1, 10, () -> load("b"));
+        assertThat(second).isEqualTo(first);
+        assertThat(loads.get()).isEqualTo(1);
+
+        cache.getPage(USER_ID, "spring boot", "Sunny", START, null, 2, 10, () -> load("c"));
+        cache.getSlice(USER_ID, "Sunny", START, null, 1, 10, () -> load("d"));
+        cache.getPage(USER_ID, null, "Sunny", START, null, 1, 10, () -> load("e"));
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("유저의 버전이 오르면 그 유저의 검색만 다시 조회한다.")
+    void 버전_무효화() {
+        TodoSearchCache cache = newCache(1_000_000);
+        cache.getPage(USER_ID, null, "Sunny", null, null, 1, 10, () -> load("old"));
+        cache.getPage(2L, null, "Sunny", null, null, 1, 10, () -> load("other"));
+
+        cache.bump(USER_ID);
+        byte[] reloaded = cache.getPage(USER_ID, null, "Sunny", null, null, 1, 10, () -> load("new"));
+        cache.getPage(2L, null, "Sunny", null, null, 1, 10, () -> load("other"));
+        assertThat(new String(reloaded, StandardCharsets.UTF_8)).contains("new");
+        assertThat(loads.get()).isEqualTo(3);
+
+        cache.onUserChanged(new UserChangedEvent(USER_ID, false));
+        cache.getPage(USER_ID, null, "Sunny", null, null, 1, 10, () -> load("renamed"));
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("전체 크기를 넘으면 가장 오래 안 쓴 항목부터 버린다.")
+    void 크기_제한() {
+        TodoSearchCache cache = newCache(2_000);
+        for (int page = 1; page <= 20; page++) {
+            cache.getPage(USER_ID, null, "Sunny", null, null, page, 10, () -> load("title"));
+        }
+
+        assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(2_000);
+        assertThat(cache.size()).isBetween(1, 19);
+        assertThat(meterRegistry.get("todo.search.cache.evictions").counter().count()).isPositive();
+
+        // 가장 최근 항목은 남아 있다.
+        int before = loads.get();
+        cache.getPage(USER_ID, null, "Sunny", null, null, 20, 10, () -> load("title"));
+        assertThat(loads.get()).isEqualTo(before);
+    }
+
+    private TodoSearchCache newCache(long maxBytes) {
+        return new TodoSearchCache(new ObjectMapper(), meterRegistry, true, maxBytes, 60_000);
+    }
+
+    private Map<String, Object> load(String title) {
+        loads.incrementAndGet();
+        return Map.of("content", List.of(Map.of("title", title)));
+    }
+}
@@ -2,11 +2,17 @@ package org.example.expert.domain.todo.service;
 
 import org.example.expert.client.WeatherClient;
 import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.common.exception.InvalidRequestException;
+import org.example.expert.domain.todo.dto.TodoCursor;
+import org.example.expert.domain.todo.dto.request.TodoBulkSaveRequest;
 import org.example.expert.domain.todo.dto.request.TodoSaveRequest;
+import org.example.expert.domain.todo.dto.response.TodoBulkSaveResponse;
+import org.example.expert.domain.todo.dto.response.TodoCursorResponse;
 import org.example.expert.domain.todo.dto.response.TodoResponse;
 import org.example.expert.domain.todo.dto.response.TodoSaveResponse;
 import org.example.expert.domain.todo.entity.Todo;
 import org.example.expert.domain.todo.repository.TodoRepository;
+import org.example.expert.domain.todo.search.TodoSearchIndex;
 import org.example.expert.domain.user.dto.response.UserResponse;
 import org.example.expert.domain.user.entity.User;
 import org.example.expert.domain.user.enums.UserRole;
@@ -14,17 +20,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /*
@@ -44,9 +56,21 @@ public class TodoServiceTest {
     @MockitoBean
     private WeatherClient weatherClient;
 
+    @MockitoBean
+    private TodoWeatherEnricher todoWeatherEnricher;
+
+    @MockitoBean
+    private TodoCounter todoCounter;
+
+    @MockitoBean
+    private TodoSearchIndex todoSearchIndex;
+
+    @MockitoBean
+    private TodoSearchCache todoSearchCache;
+
     @BeforeEach
     void setUp() {
-        todoService = new TodoService(todoRepository, weatherClient);
+        todoService = new TodoService(todoRepository, weatherClient, todoWeatherEnricher, todoCounter, todoSearchIndex, todoSearchCache);
     }
 
     @Test
@@ -97,6 +121,86 @@ public class TodoServiceTest {
         assertThat(response.getTitle()).isEqualTo(request.getTitle());
         assertThat(response.getContents()).isEqualTo(request.getContents());
         assertThat(response.getWeather()).isEqualTo(expectedWeather);
+
+        // 유저별 todo 개수 증가
+        verify(todoCounter, times(1)).increase(1L, 1);
+    }
+
+    @Test
+    @DisplayName("날씨 비동기 보강 모드에서는 날씨 API 를 호출하지 않고 pending 상태로 저장한 뒤 보강 큐에 넣는다.")
+    void saveTodo_비동기_날씨_보강() {
+        // given
+        AuthUser authUser = new AuthUser(1L, "test@user.com", "nickname", UserRole.USER);
+        TodoSaveRequest request = new TodoSaveRequest("할 일 title", "할 일 내용");
+
+        when(todoWeatherEnricher.isEnabled()).thenReturn(true);
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> setTodoId(invocation.getArgument(0), 1L));
+
+        // when
+        TodoSaveResponse response = todoService.saveTodo(authUser, request);
+
+        // then
+        verify(weatherClient, never()).getTodayWeather();
+        verify(todoWeatherEnricher, times(1)).enqueueAfterCommit(eq(1L), eq(1L));
+        assertThat(response.getWeather()).isNull();
+        assertThat(response.isWeatherPending()).isTrue();
+    }
+
+    @Test
+    @DisplayName("여러 건 저장 시 날씨는 한 번만 조회하고 카운터는 저장 건수만큼 한 번에 올린다.")
+    void saveTodos_성공() {
+        // given
+        AuthUser authUser = new AuthUser(1L, "test@user.com", "nickname", UserRole.USER);
+        TodoBulkSaveRequest request = new TodoBulkSaveRequest(List.of(
+                new TodoSaveRequest("할 일1", "내용1"),
+                new TodoSaveRequest("할 일2", "내용2"),
+                new TodoSaveRequest("할 일3", "내용3")
+        ));
+
+        when(weatherClient.getTodayWeather()).thenReturn("Sunny");
+        when(todoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Todo> todos = invocation.getArgument(0);
+            for (int i = 0; i < todos.size(); i++) {
+                setTodoId(todos.get(i), i + 1L);
+            }
+            return todos;
+        });
+
+        // when
+        TodoBulkSaveResponse response = todoService.saveTodos(authUser, request);
+
+        // then
+        verify(weatherClient, times(1)).getTodayWeather();
+        verify(todoCounter, times(1)).increase(1L, 3);
+        assertThat(response.getCount()).isEqualTo(3);
+        assertThat(response.getIds()).containsExactly(1L, 2L, 3L);
+        assertThat(response.getWeather()).isEqualTo("Sunny");
+    }
+
+    @Test
+    @DisplayName("여러 건 저장 시 검색 캐시 버전은 모든 todo 를 색인하도록 등록한 뒤에 올린다. (커밋 후 등록 순서대로 실행된다)")
+    void saveTodos_색인_후_검색캐시_무효화() {
+        // given
+        AuthUser authUser = new AuthUser(1L, "test@user.com", "nickname", UserRole.USER);
+        TodoBulkSaveRequest request = new TodoBulkSaveRequest(List.of(
+                new TodoSaveRequest("할 일1", "내용1"),
+                new TodoSaveRequest("할 일2", "내용2")
+        ));
+        when(todoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Todo> todos = invocation.getArgument(0);
+            for (int i = 0; i < todos.size(); i++) {
+                setTodoId(todos.get(i), i + 1L);
+            }
+            return todos;
+        });
+
+        // when
+        todoService.saveTodos(authUser, request);
+
+        // then
+        InOrder inOrder = inOrder(todoSearchIndex, todoSearchCache);
+        inOrder.verify(todoSearchIndex).indexAllAfterCommit(eq(1L), argThat(todos -> todos.size() == 2));
+        inOrder.verify(todoSearchCache).bumpAfterCommit(1L);
     }
 
     // 리플렉션을 활용한 id 강제 설정
@@ -120,18 +224,17 @@ public class TodoServiceTest {
         int size = 10;
         PageRequest pageable = PageRequest.of(page - 1, size);
 
-        AuthUser authUser = new AuthUser(userId, "test@user.com", "nickname", UserRole.USER);
-        User user = User.fromAuthUser(authUser);
+        UserResponse userResponse = new UserResponse(userId, "test@user.com");
+        LocalDateTime now = LocalDateTime.now();
 
-        List<Todo> todos = List.of(
-                new Todo("할 일1", "내용1", "Sunny", user),
-                new Todo("할 일2", "내용2", "Rainy", user)
+        // 목록 조회는 repository 에서 DTO 로 바로 projection 된다.
+        List<TodoResponse> todos = List.of(
+                new TodoResponse(1L, "할 일1", "내용1", "Sunny", userResponse, now, now),
+                new TodoResponse(2L, "할 일2", "내용2", "Rainy", userResponse, now, now)
         );
 
-        Page<Todo> todoPage = new PageImpl<>(todos, pageable, todos.size());
-
         // Mock 설정
-        when(todoRepository.findAllByUserIdOrderByModifiedAtDesc(userId, pageable)).thenReturn(todoPage);
+        when(todoRepository.findTodoResponsesByUserId(userId, pageable)).thenReturn(todos);
 
         // when
         Page<TodoResponse> response = todoService.getTodos(userId, page, size);
@@ -142,8 +245,72 @@ public class TodoServiceTest {
         assertThat(response.getContent().get(0).getTitle()).isEqualTo("할 일1");
         assertThat(response.getContent().get(1).getTitle()).isEqualTo("할 일2");
 
-        verify(todoRepository, times(1)).findAllByUserIdOrderByModifiedAtDesc(userId, pageable);
+        verify(todoRepository, times(1)).findTodoResponsesByUserId(userId, pageable);
+        // 첫 페이지가 size 보다 적으면 전체 개수를 따로 조회하지 않는다.
+        verify(todoCounter, never()).getTotal(userId);
+    }
+
+    @Test
+    @DisplayName("목록이 size 만큼 차 있으면 전체 개수는 count 쿼리 대신 카운터에서 읽는다.")
+    void getTodos_카운터로_전체개수() {
+        // given
+        long userId = 1L;
+        int size = 2;
+        PageRequest pageable = PageRequest.of(0, size);
+        UserResponse userResponse = new UserResponse(userId, "test@user.com");
+        LocalDateTime now = LocalDateTime.now();
+
+        List<TodoResponse> todos = List.of(
+                new TodoResponse(1L, "할 일1", "내용1", "Sunny", userResponse, now, now),
+                new TodoResponse(2L, "할 일2", "내용2", "Rainy", userResponse, now, now)
+        );
+        when(todoRepository.findTodoResponsesByUserId(userId, pageable)).thenReturn(todos);
+        when(todoCounter.getTotal(userId)).thenReturn(7L);
+
+        // when
+        Page<TodoResponse> response = todoService.getTodos(userId, 1, size);
+
+        // then
+        assertThat(response.getTotalElements()).isEqualTo(7);
+        assertThat(response.getTotalPages()).isEqualTo(4);
     }
 
+    @Test
+    @DisplayName("커서 기반 조회 시 size + 1 개를 읽어 다음 커서를 마지막 row 기준으로 만든다.")
+    void getTodosByCursor_성공() {
+        // given
+        long userId = 1L;
+        int size = 2;
+        UserResponse userResponse = new UserResponse(userId, "test@user.com");
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0, 0);
+
+        List<TodoResponse> todos = List.of(
+                new TodoResponse(3L, "할 일3", "내용3", "Sunny", userResponse, now, now),
+                new TodoResponse(2L, "할 일2", "내용2", "Sunny", userResponse, now, now),
+                new TodoResponse(1L, "할 일1", "내용1", "Rainy", userResponse, now, now.minusMinutes(1))
+        );
+
+        when(todoRepository.findTodoResponsesAfterCursor(eq(userId), isNull(), eq(size + 1))).thenReturn(todos);
+
+        // when
+        TodoCursorResponse response = todoService.getTodosByCursor(userId, "", size);
 
+        // then
+        assertThat(response.getContent()).hasSize(2);
+        assertThat(response.isHasNext()).isTrue();
+
+        TodoCursor next = TodoCursor.decode(response.getNextCursor());
+        assertThat(next.getId()).isEqualTo(2L);
+        assertThat(next.getModifiedAt()).isEqualTo(now);
+    }
+
+    @Test
+    @DisplayName("커서 조회 size 가 최대값을 넘으면 조회하지 않고 400")
+    void getTodosByCursor_size_초과() {
+        int size = TodoService.MAX_CURSOR_PAGE_SIZE + 1;
+
+        assertThatThrownBy(() -> todoService.getTodosByCursor(1L, "", size))
+                .isInstanceOf(InvalidRequestException.class);
+        verify(todoRepository, never()).findTodoResponsesAfterCursor(any(), any(), anyInt());
+    }
 }
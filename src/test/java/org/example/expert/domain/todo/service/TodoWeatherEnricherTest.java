@@ -0,0 +1,146 @@
+package org.example.expert.domain.todo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.expert.client.WeatherClient;
+import org.example.expert.config.ShardTopology;
+import org.example.expert.domain.common.exception.ServerException;
+import org.example.expert.domain.todo.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TodoWeatherEnricherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 23, 59, 59);
+
+    private final WeatherClient weatherClient = mock(WeatherClient.class);
+    private final TodoRepository todoRepository = mock(TodoRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+    }
+
+    @Test
+    @DisplayName("저장한 날짜별로 날씨를 한 번씩 조회하고 UPDATE 한 번으로 채운다. 날짜는 주입받은 clock 기준이다.")
+    void 날짜별_묶어서_보강() {
+        TodoWeatherEnricher enricher = newEnricher(100, 5);
+        when(weatherClient.getWeather(any())).thenReturn("Sunny");
+
+        enricher.enqueueAfterCommit(1L, 10L);
+        enricher.enqueueAfterCommit(2L, 10L);
+        clock.plusSeconds(1);
+        enricher.enqueueAfterCommit(3L, 20L);
+        enricher.flush();
+
+        verify(weatherClient).getWeather(LocalDate.of(2025, 3, 1));
+        verify(weatherClient).getWeather(LocalDate.of(2025, 3, 2));
+        verify(todoRepository).fillPendingWeather(List.of(1L, 2L), "Sunny");
+        verify(todoRepository).fillPendingWeather(List.of(3L), "Sunny");
+        assertThat(enricher.getQueueSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패하면 지수 백오프가 지난 뒤에 재시도하고, 최대 횟수를 넘기면 dead-letter 로 옮긴다. 재시도 요청하면 다시 처리한다.")
+    void 백오프_후_dead_letter() {
+        TodoWeatherEnricher enricher = newEnricher(100, 3);
+        when(weatherClient.getWeather(any())).thenThrow(new ServerException("날씨 API 장애"));
+        enricher.enqueueAfterCommit(1L, 10L);
+
+        enricher.flush();
+        // 첫 실패 후 2초 동안은 다시 조회하지 않는다.
+        clock.plusSeconds(1);
+        enricher.flush();
+        verify(weatherClient, times(1)).getWeather(any());
+
+        clock.plusSeconds(1);
+        enricher.flush();
+        clock.plusSeconds(3);
+        enricher.flush();
+        verify(weatherClient, times(2)).getWeather(any());
+
+        clock.plusSeconds(1);
+        enricher.flush();
+        verify(weatherClient, times(3)).getWeather(any());
+        assertThat(enricher.getQueueSize()).isZero();
+        assertThat(enricher.getDeadLetterTodoIds()).containsExactly(1L);
+        assertThat(meterRegistry.get("todo.weather.dead.letters").gauge().value()).isEqualTo(1);
+        verify(todoRepository, never()).fillPendingWeather(anyList(), anyString());
+
+        assertThat(enricher.retryDeadLetters()).containsExactly(1L);
+        assertThat(meterRegistry.get("todo.weather.queue.size").gauge().value()).isEqualTo(1);
+        assertThat(enricher.getDeadLetterCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("dead-letter 는 최대 10,000건까지만 두고 오래된 것부터 버린다.")
+    void dead_letter_상한() {
+        TodoWeatherEnricher enricher = newEnricher(20_000, 1);
+        when(weatherClient.getWeather(any())).thenThrow(new ServerException("날씨 API 장애"));
+        for (long todoId = 1; todoId <= 10_001; todoId++) {
+            enricher.enqueueAfterCommit(todoId, 10L);
+        }
+
+        enricher.flush();
+
+        List<Long> deadLetters = enricher.getDeadLetterTodoIds();
+        assertThat(deadLetters).hasSize(10_000);
+        assertThat(deadLetters.get(0)).isEqualTo(2L);
+        assertThat(enricher.getDeadLetterCount()).isEqualTo(10_000);
+    }
+
+    private TodoWeatherEnricher newEnricher(int batchSize, int maxAttempts) {
+        return new TodoWeatherEnricher(weatherClient, todoRepository, mock(PlatformTransactionManager.class),
+                new ShardTopology(false, ""), mock(TodoResponseCache.class), mock(TodoSearchCache.class), meterRegistry,
+                true, batchSize, maxAttempts, clock);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(LocalDateTime dateTime) {
+            this.instant = dateTime.toInstant(ZoneOffset.UTC);
+        }
+
+        void plusSeconds(long seconds) {
+            this.instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.expert.domain.user.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.expert.config.PasswordEncoder;
+import org.example.expert.domain.common.dto.AuthUser;
+import org.example.expert.domain.todo.controller.TodoExportController;
+import org.example.expert.domain.user.entity.User;
+import org.example.expert.domain.user.enums.UserRole;
+import org.example.expert.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// batch 경계(2건)를 넘는 입력으로 일괄 import 를 검증한다.
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "user.import.batch-size=2")
+class UserImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(new User("admin@test.com", "password", "admin", UserRole.ADMIN));
+        userRepository.save(new User("existing@test.com", "password", "existing", UserRole.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("CSV 를 줄마다 생성/중복/검증 실패로 처리하고 입력 순서대로 결과를 내려준다.")
+    void import_CSV() throws Exception {
+        String csv = """
+                email,password,nickname,userRole
+                new1@test.com,Password1234,new1,USER
+                existing@test.com,Password1234,dup,USER
+                NEW1@test.com,Password1234,again,USER
+                new2@test.com,"pass,word""1",new2,ADMIN
+                bad@test.com,Password1234,n,USER
+                role@test.com,Password1234,role,GUEST
+                """;
+
+        List<JsonNode> lines = importUsers("text/csv", csv);
+
+        assertThat(lines).extracting(line -> line.get("line").asLong()).containsExactly(2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(lines).extracting(line -> line.get("status").asText())
+                .containsExactly("CREATED", "DUPLICATE", "DUPLICATE", "CREATED", "INVALID", "INVALID");
+        assertThat(lines.get(1).has("userId")).isFalse();
+
+        User created = userRepository.findByEmail("new2@test.com").orElseThrow();
+        assertThat(lines.get(3).get("userId").asLong()).isEqualTo(created.getId());
+        assertThat(created.getUserRole()).isEqualTo(UserRole.ADMIN);
+        assertThat(created.getCreatedAt()).isNotNull();
+        assertThat(passwordEncoder.matches("pass,word\"1", created.getPassword())).isTrue();
+        assertThat(userRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("NDJSON 은 한 줄에 가입 요청 하나이고, JSON 이 아닌 줄은 그 줄만 실패한다.")
+    void import_NDJSON() throws Exception {
+        String ndjson = """
+                {"email":"json@test.com","password":"Password1234","nickname":"json","userRole":"USER"}
+                not json
+                """;
+
+        List<JsonNode> lines = importUsers("application/x-ndjson", ndjson);
+
+        assertThat(lines).extracting(line -> line.get("status").asText()).containsExactly("CREATED", "INVALID");
+        assertThat(userRepository.findByEmail("json@test.com")).isPresent();
+    }
+
+    private List<JsonNode> importUsers(String contentType, String body) throws Exception {
+        MvcResult started = mockMvc.perform(post("/admin/users/import").with(login(admin))
+                        .contentType(contentType)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TodoExportController.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private RequestPostProcessor login(User user) {
+        AuthUser authUser = new AuthUser(user.getId(), user.getEmail(), user.getNickname(), user.getUserRole());
+        return authentication(new UsernamePasswordAuthenticationToken(
+                authUser, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getUserRole().name()))));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.expert.domain.user.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.expert.domain.user.entity.User;
+import org.example.expert.domain.user.enums.UserRole;
+import org.example.expert.support.QueryBudget;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("id / email 조회는 2차 캐시에서 읽고, 수정하면 캐시도 새 값으로 바뀐다.")
+    void user_2차_캐시() throws Exception {
+        User saved = userRepository.save(new User("cached@test.com", "encoded", "cached", UserRole.USER));
+        userRepository.findByEmailNaturalId("cached@test.com");
+
+        QueryBudget.assertAtMost(0, () -> userRepository.findById(saved.getId()));
+        User byEmail = QueryBudget.assertAtMost(0, () -> userRepository.findByEmailNaturalId("cached@test.com")).orElseThrow();
+        assertThat(byEmail.getId()).isEqualTo(saved.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.findById(saved.getId()).orElseThrow().updateRole(UserRole.ADMIN));
+
+        User updated = QueryBudget.assertAtMost(0, () -> userRepository.findById(saved.getId())).orElseThrow();
+        assertThat(updated.getUserRole()).isEqualTo(UserRole.ADMIN);
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount()).isPositive();
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.expert.domain.user.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegisteredEmailFilterTest {
+
+    @Test
+    @DisplayName("넣은 이메일은 항상 있다고 하고, 넣지 않은 이메일의 오탐은 설정한 fpp 근처다.")
+    void 오탐_비율() {
+        int users = 200_000;
+        RegisteredEmailFilter.Bits bits = RegisteredEmailFilter.Bits.of(users, 0.01);
+        for (int i = 0; i < users; i++) {
+            bits.put("user" + i + "@test.com");
+        }
+
+        for (int i = 0; i < users; i++) {
+            assertThat(bits.mightContain("user" + i + "@test.com")).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < users; i++) {
+            if (bits.mightContain("new" + i + "@test.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / users).isLessThan(0.015);
+        assertThat(bits.expectedFpp()).isBetween(0.009, 0.011);
+    }
+
+    @Test
+    @DisplayName("1000만 명, fpp 1% 면 약 11.4MiB")
+    void 천만명_메모리() {
+        RegisteredEmailFilter.Bits bits = RegisteredEmailFilter.Bits.of(10_000_000, 0.01);
+
+        assertThat(bits.bytes()).isBetween(11_900_000L, 12_000_000L);
+    }
+}
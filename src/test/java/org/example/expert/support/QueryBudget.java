@@ -0,0 +1,37 @@
+package org.example.expert.support;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+요청(또는 서비스 호출) 하나가 실행하는 SQL 개수에 상한을 건다. N+1 검출용.
+
+    QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/todos").param("size", "50")));
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, ThrowingSupplier<T> action) throws Exception {
+        SqlStatementCounter.start();
+        T result;
+        List<String> statements;
+        try {
+            result = action.get();
+        } finally {
+            statements = SqlStatementCounter.stop();
+        }
+
+        assertThat(statements)
+                .as("SQL 실행 횟수가 예산(%d)을 넘었습니다. 실행된 SQL:%n%s", maxStatements, String.join(System.lineSeparator(), statements))
+                .hasSizeLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}